@@ -0,0 +1,87 @@
+package com.cdn.analytics.controller;
+
+import com.cdn.analytics.dto.ActivitySummaryResponse;
+import com.cdn.analytics.dto.AnalyticsEventRequest;
+import com.cdn.analytics.dto.IngestResponse;
+import com.cdn.analytics.dto.TopContentEntry;
+import com.cdn.analytics.dto.TrendResponse;
+import com.cdn.analytics.rollup.EventType;
+import com.cdn.analytics.rollup.Granularity;
+import com.cdn.analytics.service.AnalyticsService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @PostMapping("/events")
+    public ResponseEntity<IngestResponse> ingestEvents(@RequestBody List<@Valid AnalyticsEventRequest> events) {
+        IngestResponse response = analyticsService.ingest(events);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/content/{id}")
+    public ResponseEntity<ActivitySummaryResponse> getContentSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(analyticsService.getContentSummary(id));
+    }
+
+    @GetMapping("/content/{id}/trend")
+    public ResponseEntity<TrendResponse> getContentTrend(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "DOWNLOAD") EventType type,
+            @RequestParam(defaultValue = "HOUR") Granularity granularity,
+            @RequestParam(defaultValue = "24") int points) {
+        return ResponseEntity.ok(analyticsService.getContentTrend(id, type, granularity, points));
+    }
+
+    @GetMapping("/content/top")
+    public ResponseEntity<List<TopContentEntry>> getTopContent(
+            @RequestParam(defaultValue = "DOWNLOAD") EventType type,
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopContent(type, parseWindow(window), limit));
+    }
+
+    @GetMapping("/users/{id}")
+    public ResponseEntity<ActivitySummaryResponse> getUserSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(analyticsService.getUserSummary(id));
+    }
+
+    @GetMapping("/users/{id}/trend")
+    public ResponseEntity<TrendResponse> getUserTrend(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "DOWNLOAD") EventType type,
+            @RequestParam(defaultValue = "HOUR") Granularity granularity,
+            @RequestParam(defaultValue = "24") int points) {
+        return ResponseEntity.ok(analyticsService.getUserTrend(id, type, granularity, points));
+    }
+
+    // Accepts windows such as 30m, 6h or 7d
+    private Duration parseWindow(String window) {
+        try {
+            long amount = Long.parseLong(window.substring(0, window.length() - 1));
+            Duration duration = switch (Character.toLowerCase(window.charAt(window.length() - 1))) {
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                case 'd' -> Duration.ofDays(amount);
+                default -> throw new IllegalArgumentException();
+            };
+            Granularity.covering(duration.toMillis());
+            return duration;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported window: " + window);
+        }
+    }
+}
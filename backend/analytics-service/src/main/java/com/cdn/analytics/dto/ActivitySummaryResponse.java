@@ -0,0 +1,46 @@
+package com.cdn.analytics.dto;
+
+public class ActivitySummaryResponse {
+    
+    private Long id;
+    private long downloads;
+    private long views;
+    // Estimated unique viewers for content, unique content items for a user
+    private long uniqueCount;
+    
+    // Constructors
+    public ActivitySummaryResponse() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public long getDownloads() {
+        return downloads;
+    }
+    
+    public void setDownloads(long downloads) {
+        this.downloads = downloads;
+    }
+    
+    public long getViews() {
+        return views;
+    }
+    
+    public void setViews(long views) {
+        this.views = views;
+    }
+    
+    public long getUniqueCount() {
+        return uniqueCount;
+    }
+    
+    public void setUniqueCount(long uniqueCount) {
+        this.uniqueCount = uniqueCount;
+    }
+}
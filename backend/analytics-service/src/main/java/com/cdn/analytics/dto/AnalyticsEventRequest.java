@@ -0,0 +1,55 @@
+package com.cdn.analytics.dto;
+
+import com.cdn.analytics.rollup.EventType;
+import jakarta.validation.constraints.NotNull;
+
+public class AnalyticsEventRequest {
+    
+    @NotNull(message = "Event type is required")
+    private EventType type;
+    
+    @NotNull(message = "Content ID is required")
+    private Long contentId;
+    
+    private Long userId;
+    
+    // Epoch millis; defaults to the time of ingestion. Events outside the retained history
+    // or too far in the future are rejected.
+    private Long timestamp;
+    
+    // Constructors
+    public AnalyticsEventRequest() {}
+    
+    // Getters and Setters
+    public EventType getType() {
+        return type;
+    }
+    
+    public void setType(EventType type) {
+        this.type = type;
+    }
+    
+    public Long getContentId() {
+        return contentId;
+    }
+    
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(Long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
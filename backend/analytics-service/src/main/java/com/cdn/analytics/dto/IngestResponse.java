@@ -0,0 +1,32 @@
+package com.cdn.analytics.dto;
+
+public class IngestResponse {
+    
+    private int accepted;
+    private int dropped;
+    
+    // Constructors
+    public IngestResponse() {}
+    
+    public IngestResponse(int accepted, int dropped) {
+        this.accepted = accepted;
+        this.dropped = dropped;
+    }
+    
+    // Getters and Setters
+    public int getAccepted() {
+        return accepted;
+    }
+    
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+    
+    public int getDropped() {
+        return dropped;
+    }
+    
+    public void setDropped(int dropped) {
+        this.dropped = dropped;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cdn.analytics.dto;
+
+public class TopContentEntry {
+    
+    private Long contentId;
+    private long count;
+    
+    // Constructors
+    public TopContentEntry() {}
+    
+    public TopContentEntry(Long contentId, long count) {
+        this.contentId = contentId;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public Long getContentId() {
+        return contentId;
+    }
+    
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
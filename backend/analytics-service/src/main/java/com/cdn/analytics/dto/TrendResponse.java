@@ -0,0 +1,66 @@
+package com.cdn.analytics.dto;
+
+import com.cdn.analytics.rollup.EventType;
+import com.cdn.analytics.rollup.Granularity;
+
+public class TrendResponse {
+    
+    private Long id;
+    private EventType type;
+    private Granularity granularity;
+    private long firstBucketStart;
+    private long bucketMillis;
+    private long[] counts;
+    
+    // Constructors
+    public TrendResponse() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public EventType getType() {
+        return type;
+    }
+    
+    public void setType(EventType type) {
+        this.type = type;
+    }
+    
+    public Granularity getGranularity() {
+        return granularity;
+    }
+    
+    public void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+    
+    public long getFirstBucketStart() {
+        return firstBucketStart;
+    }
+    
+    public void setFirstBucketStart(long firstBucketStart) {
+        this.firstBucketStart = firstBucketStart;
+    }
+    
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+    
+    public void setBucketMillis(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+    
+    public long[] getCounts() {
+        return counts;
+    }
+    
+    public void setCounts(long[] counts) {
+        this.counts = counts;
+    }
+}
@@ -0,0 +1,38 @@
+package com.cdn.analytics.ingest;
+
+import com.cdn.analytics.rollup.EventType;
+
+/**
+ * One download or view. {@code userId} is 0 for anonymous events, which count
+ * towards totals but not towards unique viewers or per-user rollups.
+ */
+public final class AnalyticsEvent {
+
+    private final EventType type;
+    private final long contentId;
+    private final long userId;
+    private final long timestamp;
+
+    public AnalyticsEvent(EventType type, long contentId, long userId, long timestamp) {
+        this.type = type;
+        this.contentId = contentId;
+        this.userId = userId;
+        this.timestamp = timestamp;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public long getContentId() {
+        return contentId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,169 @@
+package com.cdn.analytics.ingest;
+
+import com.cdn.analytics.rollup.RollupStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts events from request threads into a bounded queue and hands them to a single
+ * writer thread, which appends each drained batch to the {@link EventLog} and then
+ * applies it to the rollups. Request threads never touch disk or rollup state.
+ */
+@Component
+public class EventIngestor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIngestor.class);
+    private static final long TRIM_INTERVAL_MILLIS = 60_000;
+
+    private final RollupStore rollupStore;
+    private final EventLog eventLog;
+    private final BlockingQueue<AnalyticsEvent> queue;
+    private final int maxBatchSize;
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public EventIngestor(RollupStore rollupStore,
+                         MeterRegistry meterRegistry,
+                         @Value("${analytics.ingest.queue-capacity:100000}") int queueCapacity,
+                         @Value("${analytics.ingest.max-batch-size:4096}") int maxBatchSize,
+                         @Value("${analytics.log.directory}") String logDirectory,
+                         @Value("${analytics.log.segment-size-mb:64}") long segmentSizeMb,
+                         @Value("${analytics.log.max-segments:64}") int maxSegments) {
+        this.rollupStore = rollupStore;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.eventLog = new EventLog(Path.of(logDirectory), segmentSizeMb * 1024 * 1024, maxSegments, maxBatchSize);
+
+        this.accepted = meterRegistry.counter("analytics.ingest.events", "result", "accepted");
+        this.dropped = meterRegistry.counter("analytics.ingest.events", "result", "dropped");
+        this.batchTimer = Timer.builder("analytics.ingest.batch")
+                .description("Time to append and apply one batch of events")
+                .register(meterRegistry);
+        Gauge.builder("analytics.ingest.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * Enqueues the events without blocking. Returns how many were accepted; the rest
+     * were dropped because the writer is behind.
+     */
+    public int submit(List<AnalyticsEvent> events) {
+        int count = 0;
+        for (AnalyticsEvent event : events) {
+            if (!queue.offer(event)) {
+                break;
+            }
+            count++;
+        }
+        accepted.increment(count);
+        dropped.increment(events.size() - count);
+        return count;
+    }
+
+    @Override
+    public void start() {
+        try {
+            long replayed = eventLog.replay(rollupStore::apply);
+            log.info("Rebuilt rollups for {} content items from {} logged events",
+                    rollupStore.contentCount(), replayed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay analytics event log", e);
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "analytics-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        // No interrupt: it would close the log's FileChannel mid-write. The writer polls instead.
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(5000);
+            if (writer.isAlive()) {
+                // The writer still owns the log and rollups; leave the queue to it rather than race it.
+                log.warn("Analytics ingest writer did not stop within 5s, {} queued events not flushed",
+                        queue.size());
+                return;
+            }
+            writeBatch(drainRemaining());
+            eventLog.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Failed to flush analytics event log on shutdown", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        long nextTrim = System.currentTimeMillis() + TRIM_INTERVAL_MILLIS;
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextTrim) {
+                    rollupStore.trim(now);
+                    nextTrim = now + TRIM_INTERVAL_MILLIS;
+                }
+                AnalyticsEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<AnalyticsEvent> batch = new ArrayList<>(Math.min(queue.size() + 1, maxBatchSize));
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                log.error("Failed to append analytics events, batch lost", e);
+            }
+        }
+    }
+
+    private List<AnalyticsEvent> drainRemaining() {
+        List<AnalyticsEvent> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        return batch;
+    }
+
+    private void writeBatch(List<AnalyticsEvent> batch) throws IOException {
+        long start = System.nanoTime();
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            List<AnalyticsEvent> chunk = batch.subList(from, Math.min(from + maxBatchSize, batch.size()));
+            eventLog.append(chunk);
+            for (AnalyticsEvent event : chunk) {
+                rollupStore.apply(event);
+            }
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,139 @@
+package com.cdn.analytics.ingest;
+
+import com.cdn.analytics.rollup.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of raw events in fixed-width binary records, split into numbered
+ * segment files. It is the durable source the in-memory rollups are rebuilt from
+ * on startup; queries never read it. Not thread-safe: owned by the ingest writer.
+ */
+public class EventLog implements Closeable {
+
+    static final int RECORD_SIZE = 1 + Long.BYTES * 3;
+
+    private static final Logger log = LoggerFactory.getLogger(EventLog.class);
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final EventType[] TYPES = EventType.values();
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final ByteBuffer buffer;
+
+    private FileChannel current;
+    private long currentSegment;
+
+    public EventLog(Path directory, long segmentBytes, int maxSegments, int maxBatchSize) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.buffer = ByteBuffer.allocateDirect(RECORD_SIZE * maxBatchSize);
+    }
+
+    /**
+     * Feeds every complete record in the retained segments to {@code consumer}, oldest
+     * first, then opens a fresh segment for appends. Returns the number of records read.
+     */
+    public long replay(Consumer<AnalyticsEvent> consumer) throws IOException {
+        Files.createDirectories(directory);
+        long replayed = 0;
+        List<Path> segments = segments();
+        ByteBuffer readBuffer = ByteBuffer.allocateDirect(RECORD_SIZE * 4096);
+        for (Path segment : segments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                readBuffer.clear();
+                while (channel.read(readBuffer) > 0 || readBuffer.position() >= RECORD_SIZE) {
+                    readBuffer.flip();
+                    while (readBuffer.remaining() >= RECORD_SIZE) {
+                        consumer.accept(readRecord(readBuffer));
+                        replayed++;
+                    }
+                    // A torn record at the end of a segment (crash mid-write) is left behind and dropped.
+                    readBuffer.compact();
+                }
+            }
+        }
+        currentSegment = segments.isEmpty() ? 0 : segmentNumber(segments.get(segments.size() - 1)) + 1;
+        openSegment();
+        return replayed;
+    }
+
+    public void append(List<AnalyticsEvent> batch) throws IOException {
+        buffer.clear();
+        for (AnalyticsEvent event : batch) {
+            buffer.put((byte) event.getType().ordinal());
+            buffer.putLong(event.getContentId());
+            buffer.putLong(event.getUserId());
+            buffer.putLong(event.getTimestamp());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            current.write(buffer);
+        }
+        if (current.position() >= segmentBytes) {
+            current.close();
+            currentSegment++;
+            openSegment();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            current.force(false);
+            current.close();
+        }
+    }
+
+    private AnalyticsEvent readRecord(ByteBuffer source) {
+        EventType type = TYPES[source.get()];
+        long contentId = source.getLong();
+        long userId = source.getLong();
+        long timestamp = source.getLong();
+        return new AnalyticsEvent(type, contentId, userId, timestamp);
+    }
+
+    private void openSegment() throws IOException {
+        current = FileChannel.open(segmentPath(currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            log.info("Deleted expired event log segment {}", segments.get(i).getFileName());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%012d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.cdn.analytics.rollup;
+
+/**
+ * Per-minute, per-hour and per-day counts for one content item or user, plus a
+ * distinct-count sketch of the other side of each event (viewers of an item, items
+ * touched by a user). Each (event type, granularity) counter is allocated on the first
+ * event that falls inside its retained window and released again by {@link #trim} once
+ * that window has passed, so idle and historical entities only keep what they still use.
+ * Mutated only by the ingest writer thread; readers may observe a batch mid-apply.
+ */
+public final class ActivityRollup {
+
+    private static final Granularity[] GRANULARITIES = Granularity.values();
+
+    private final BucketedCounter[][] counters = new BucketedCounter[EventType.values().length][];
+    private long downloads;
+    private long views;
+    private HyperLogLog distinct;
+
+    void record(EventType type, long counterpartId, long epochMillis, long nowMillis) {
+        BucketedCounter[] byGranularity = counters[type.ordinal()];
+        for (Granularity granularity : GRANULARITIES) {
+            if (!granularity.retains(epochMillis, nowMillis)) {
+                continue;
+            }
+            if (byGranularity == null) {
+                byGranularity = new BucketedCounter[GRANULARITIES.length];
+                counters[type.ordinal()] = byGranularity;
+            }
+            BucketedCounter counter = byGranularity[granularity.ordinal()];
+            if (counter == null) {
+                counter = new BucketedCounter(granularity);
+                byGranularity[granularity.ordinal()] = counter;
+            }
+            counter.increment(epochMillis);
+        }
+        if (type == EventType.DOWNLOAD) {
+            downloads++;
+        } else {
+            views++;
+        }
+        if (counterpartId != 0) {
+            if (distinct == null) {
+                distinct = new HyperLogLog();
+            }
+            distinct.offer(counterpartId);
+        }
+    }
+
+    /**
+     * Releases counters whose newest bucket has fallen out of their retained window.
+     */
+    void trim(long nowMillis) {
+        for (int type = 0; type < counters.length; type++) {
+            BucketedCounter[] byGranularity = counters[type];
+            if (byGranularity == null) {
+                continue;
+            }
+            boolean empty = true;
+            for (Granularity granularity : GRANULARITIES) {
+                BucketedCounter counter = byGranularity[granularity.ordinal()];
+                if (counter != null && counter.isExpired(granularity.bucketOf(nowMillis))) {
+                    byGranularity[granularity.ordinal()] = null;
+                } else if (counter != null) {
+                    empty = false;
+                }
+            }
+            if (empty) {
+                counters[type] = null;
+            }
+        }
+    }
+
+    public long windowCount(EventType type, Granularity granularity, long lastBucket, int buckets) {
+        BucketedCounter counter = counter(type, granularity);
+        return counter == null ? 0 : counter.sum(lastBucket, buckets);
+    }
+
+    public long[] series(EventType type, Granularity granularity, long lastBucket, int points) {
+        BucketedCounter counter = counter(type, granularity);
+        if (counter == null) {
+            return new long[Math.min(points, granularity.getRetainedBuckets())];
+        }
+        return counter.series(lastBucket, points);
+    }
+
+    public long getDownloads() {
+        return downloads;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public long getDistinctCount() {
+        return distinct == null ? 0 : distinct.estimate();
+    }
+
+    boolean hasCounters(EventType type, Granularity granularity) {
+        return counter(type, granularity) != null;
+    }
+
+    private BucketedCounter counter(EventType type, Granularity granularity) {
+        BucketedCounter[] byGranularity = counters[type.ordinal()];
+        return byGranularity == null ? null : byGranularity[granularity.ordinal()];
+    }
+}
@@ -0,0 +1,75 @@
+package com.cdn.analytics.rollup;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of time-bucketed counts for one granularity. Each slot remembers
+ * which bucket it currently holds, so stale slots read as zero without a sweeper
+ * and events older than the ring are ignored.
+ */
+final class BucketedCounter {
+
+    private final Granularity granularity;
+    private final long[] buckets;
+    private final long[] counts;
+    private long newestBucket = Long.MIN_VALUE;
+
+    BucketedCounter(Granularity granularity) {
+        this.granularity = granularity;
+        this.buckets = new long[granularity.getRetainedBuckets()];
+        this.counts = new long[granularity.getRetainedBuckets()];
+        Arrays.fill(buckets, Long.MIN_VALUE);
+    }
+
+    void increment(long epochMillis) {
+        long bucket = granularity.bucketOf(epochMillis);
+        int slot = slotOf(bucket);
+        if (buckets[slot] != bucket) {
+            if (buckets[slot] > bucket) {
+                return;
+            }
+            buckets[slot] = bucket;
+            counts[slot] = 0;
+        }
+        counts[slot]++;
+        newestBucket = Math.max(newestBucket, bucket);
+    }
+
+    /**
+     * True once every bucket this counter holds is older than the ring ending at {@code currentBucket}.
+     */
+    boolean isExpired(long currentBucket) {
+        return newestBucket <= currentBucket - counts.length;
+    }
+
+    long count(long bucket) {
+        int slot = slotOf(bucket);
+        return buckets[slot] == bucket ? counts[slot] : 0;
+    }
+
+    /**
+     * Sum of the {@code length} buckets ending with (and including) {@code lastBucket}.
+     */
+    long sum(long lastBucket, int length) {
+        int span = Math.min(length, counts.length);
+        long total = 0;
+        for (long bucket = lastBucket - span + 1; bucket <= lastBucket; bucket++) {
+            total += count(bucket);
+        }
+        return total;
+    }
+
+    long[] series(long lastBucket, int points) {
+        int span = Math.min(points, counts.length);
+        long[] series = new long[span];
+        long first = lastBucket - span + 1;
+        for (int i = 0; i < span; i++) {
+            series[i] = count(first + i);
+        }
+        return series;
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counts.length);
+    }
+}
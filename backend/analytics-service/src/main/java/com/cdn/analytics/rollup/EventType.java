@@ -0,0 +1,6 @@
+package com.cdn.analytics.rollup;
+
+public enum EventType {
+    DOWNLOAD,
+    VIEW
+}
@@ -0,0 +1,53 @@
+package com.cdn.analytics.rollup;
+
+public enum Granularity {
+    MINUTE(60_000L, 120),
+    HOUR(3_600_000L, 168),
+    DAY(86_400_000L, 90);
+
+    private final long bucketMillis;
+    private final int retainedBuckets;
+
+    Granularity(long bucketMillis, int retainedBuckets) {
+        this.bucketMillis = bucketMillis;
+        this.retainedBuckets = retainedBuckets;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public int getRetainedBuckets() {
+        return retainedBuckets;
+    }
+
+    public long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+
+    public long getRetentionMillis() {
+        return bucketMillis * retainedBuckets;
+    }
+
+    /**
+     * Whether an event at {@code epochMillis} falls inside the retained buckets at {@code nowMillis}.
+     * Future buckets are not retained: a slot moved ahead would hide the current events of that slot.
+     */
+    public boolean retains(long epochMillis, long nowMillis) {
+        long bucket = bucketOf(epochMillis);
+        long current = bucketOf(nowMillis);
+        return bucket > current - retainedBuckets && bucket <= current;
+    }
+
+    /**
+     * Finest granularity that still retains a window of the given length.
+     */
+    public static Granularity covering(long windowMillis) {
+        for (Granularity granularity : values()) {
+            if (windowMillis <= granularity.getRetentionMillis()) {
+                return granularity;
+            }
+        }
+        throw new IllegalArgumentException("Window exceeds retained history: " + windowMillis + "ms");
+    }
+}
@@ -0,0 +1,166 @@
+package com.cdn.analytics.rollup;
+
+import com.cdn.analytics.ingest.AnalyticsEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory rollups per content item and per user. Both maps are bounded: entities with
+ * no events for the idle expiry are dropped, and past the size limit the least recently
+ * active ones go first. Top-content rankings scan every content rollup, so each one is
+ * cached for the bucket it was computed in and for at most the top-content refresh interval.
+ */
+@Component
+public class RollupStore {
+
+    private final Cache<Long, ActivityRollup> contentRollups;
+    private final Cache<Long, ActivityRollup> userRollups;
+    private final Cache<TopContentKey, List<Map.Entry<Long, Long>>> topContent;
+
+    public RollupStore(MeterRegistry meterRegistry,
+                       @Value("${analytics.rollup.max-entities:500000}") long maxEntities,
+                       @Value("${analytics.rollup.idle-expiry:90d}") Duration idleExpiry,
+                       @Value("${analytics.top-content.refresh:10s}") Duration topContentRefresh) {
+        this.contentRollups = newCache(maxEntities, idleExpiry);
+        this.userRollups = newCache(maxEntities, idleExpiry);
+        this.topContent = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(topContentRefresh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contentRollups, "analytics.content-rollups");
+        CaffeineCacheMetrics.monitor(meterRegistry, userRollups, "analytics.user-rollups");
+        CaffeineCacheMetrics.monitor(meterRegistry, topContent, "analytics.top-content");
+    }
+
+    public void apply(AnalyticsEvent event) {
+        long now = System.currentTimeMillis();
+        contentRollups.get(event.getContentId(), id -> new ActivityRollup())
+                .record(event.getType(), event.getUserId(), event.getTimestamp(), now);
+        if (event.getUserId() != 0) {
+            userRollups.get(event.getUserId(), id -> new ActivityRollup())
+                    .record(event.getType(), event.getContentId(), event.getTimestamp(), now);
+        }
+    }
+
+    /**
+     * Releases per-granularity counters whose window has passed. Called from the ingest writer thread.
+     */
+    public void trim(long nowMillis) {
+        contentRollups.asMap().values().forEach(rollup -> rollup.trim(nowMillis));
+        userRollups.asMap().values().forEach(rollup -> rollup.trim(nowMillis));
+    }
+
+    public ActivityRollup content(long contentId) {
+        return contentRollups.policy().getIfPresentQuietly(contentId);
+    }
+
+    public ActivityRollup user(long userId) {
+        return userRollups.policy().getIfPresentQuietly(userId);
+    }
+
+    public long contentCount() {
+        return contentRollups.estimatedSize();
+    }
+
+    public long userCount() {
+        return userRollups.estimatedSize();
+    }
+
+    /**
+     * Runs pending evictions now instead of on the next cache access.
+     */
+    public void cleanUp() {
+        contentRollups.cleanUp();
+        userRollups.cleanUp();
+    }
+
+    /**
+     * Top {@code k} content ids by event count over the window ending in {@code lastBucket},
+     * highest first. A new {@code lastBucket} starts a new ranking; within one bucket the
+     * ranking is recomputed once per refresh interval, and concurrent callers share that scan.
+     */
+    public List<Map.Entry<Long, Long>> topContent(EventType type, Granularity granularity,
+                                                  long lastBucket, int buckets, int k) {
+        return topContent.get(new TopContentKey(type, granularity, lastBucket, buckets, k),
+                key -> scanTopContent(type, granularity, lastBucket, buckets, k));
+    }
+
+    // Reads only the rolled-up buckets, using a k-sized min-heap.
+    private List<Map.Entry<Long, Long>> scanTopContent(EventType type, Granularity granularity,
+                                                       long lastBucket, int buckets, int k) {
+        PriorityQueue<Map.Entry<Long, Long>> heap =
+                new PriorityQueue<>(k + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Long, ActivityRollup> entry : contentRollups.asMap().entrySet()) {
+            long count = entry.getValue().windowCount(type, granularity, lastBucket, buckets);
+            if (count == 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(Map.entry(entry.getKey(), count));
+            } else if (count > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(entry.getKey(), count));
+            }
+        }
+        List<Map.Entry<Long, Long>> result = new ArrayList<>(heap);
+        result.sort(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()));
+        return List.copyOf(result);
+    }
+
+    // Idle means no events: queries read quietly, so only apply() resets the access time.
+    private static Cache<Long, ActivityRollup> newCache(long maxEntities, Duration idleExpiry) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntities)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+    }
+
+    private static final class TopContentKey {
+
+        private final EventType type;
+        private final Granularity granularity;
+        private final long lastBucket;
+        private final int buckets;
+        private final int k;
+
+        TopContentKey(EventType type, Granularity granularity, long lastBucket, int buckets, int k) {
+            this.type = type;
+            this.granularity = granularity;
+            this.lastBucket = lastBucket;
+            this.buckets = buckets;
+            this.k = k;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TopContentKey)) {
+                return false;
+            }
+            TopContentKey other = (TopContentKey) o;
+            return type == other.type && granularity == other.granularity
+                    && lastBucket == other.lastBucket && buckets == other.buckets && k == other.k;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, granularity, lastBucket, buckets, k);
+        }
+    }
+}
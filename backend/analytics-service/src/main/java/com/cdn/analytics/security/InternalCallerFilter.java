@@ -0,0 +1,58 @@
+package com.cdn.analytics.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Restricts event ingestion to other backend services. Callers sign their identity the
+ * same way the gateway signs a user's and must carry the {@link #INTERNAL_ROLE} role; the
+ * gateway never forwards ingestion, so end users cannot post events for other users.
+ */
+@Component
+public class InternalCallerFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String TIMESTAMP_HEADER = "X-User-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-User-Signature";
+    public static final String INTERNAL_ROLE = "INTERNAL";
+
+    private static final String INGEST_PATH = "/api/v1/analytics/events";
+
+    private final GatewayIdentityVerifier identityVerifier;
+
+    public InternalCallerFilter(@Value("${gateway.identity.secret}") String secret,
+                                @Value("${gateway.identity.max-age-ms:300000}") long maxAgeMillis) {
+        this.identityVerifier = new GatewayIdentityVerifier(secret, maxAgeMillis);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !INGEST_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String roles = request.getHeader(USER_ROLES_HEADER);
+        if (!identityVerifier.isValid(request.getHeader(USER_ID_HEADER), request.getHeader(USER_NAME_HEADER), roles,
+                request.getHeader(TIMESTAMP_HEADER), request.getHeader(SIGNATURE_HEADER))) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (roles == null || Arrays.stream(roles.split(",")).map(String::trim).noneMatch(INTERNAL_ROLE::equals)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,27 @@
+package com.cdn.analytics.service;
+
+import com.cdn.analytics.dto.ActivitySummaryResponse;
+import com.cdn.analytics.dto.AnalyticsEventRequest;
+import com.cdn.analytics.dto.IngestResponse;
+import com.cdn.analytics.dto.TopContentEntry;
+import com.cdn.analytics.dto.TrendResponse;
+import com.cdn.analytics.rollup.EventType;
+import com.cdn.analytics.rollup.Granularity;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface AnalyticsService {
+    
+    IngestResponse ingest(List<AnalyticsEventRequest> events);
+    
+    TrendResponse getContentTrend(Long contentId, EventType type, Granularity granularity, int points);
+    
+    TrendResponse getUserTrend(Long userId, EventType type, Granularity granularity, int points);
+    
+    List<TopContentEntry> getTopContent(EventType type, Duration window, int limit);
+    
+    ActivitySummaryResponse getContentSummary(Long contentId);
+    
+    ActivitySummaryResponse getUserSummary(Long userId);
+}
@@ -0,0 +1,118 @@
+package com.cdn.analytics.service.impl;
+
+import com.cdn.analytics.dto.ActivitySummaryResponse;
+import com.cdn.analytics.dto.AnalyticsEventRequest;
+import com.cdn.analytics.dto.IngestResponse;
+import com.cdn.analytics.dto.TopContentEntry;
+import com.cdn.analytics.dto.TrendResponse;
+import com.cdn.analytics.ingest.AnalyticsEvent;
+import com.cdn.analytics.ingest.EventIngestor;
+import com.cdn.analytics.rollup.ActivityRollup;
+import com.cdn.analytics.rollup.EventType;
+import com.cdn.analytics.rollup.Granularity;
+import com.cdn.analytics.rollup.RollupStore;
+import com.cdn.analytics.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int MAX_TOP_LIMIT = 1000;
+    private static final long MAX_RETENTION_MILLIS = Granularity.DAY.getRetentionMillis();
+
+    @Autowired
+    private EventIngestor eventIngestor;
+
+    @Autowired
+    private RollupStore rollupStore;
+
+    @Value("${analytics.ingest.max-clock-skew:60s}")
+    private Duration maxClockSkew;
+
+    @Override
+    public IngestResponse ingest(List<AnalyticsEventRequest> events) {
+        long now = System.currentTimeMillis();
+        long earliest = now - MAX_RETENTION_MILLIS;
+        long latest = now + maxClockSkew.toMillis();
+        List<AnalyticsEvent> converted = events.stream()
+                .filter(request -> request.getType() != null && request.getContentId() != null)
+                .filter(request -> request.getTimestamp() == null
+                        || (request.getTimestamp() >= earliest && request.getTimestamp() <= latest))
+                .map(request -> new AnalyticsEvent(
+                        request.getType(),
+                        request.getContentId(),
+                        request.getUserId() != null ? request.getUserId() : 0L,
+                        request.getTimestamp() != null ? Math.min(request.getTimestamp(), now) : now))
+                .collect(Collectors.toList());
+
+        int accepted = eventIngestor.submit(converted);
+        return new IngestResponse(accepted, events.size() - accepted);
+    }
+
+    @Override
+    public TrendResponse getContentTrend(Long contentId, EventType type, Granularity granularity, int points) {
+        return trend(contentId, rollupStore.content(contentId), type, granularity, points);
+    }
+
+    @Override
+    public TrendResponse getUserTrend(Long userId, EventType type, Granularity granularity, int points) {
+        return trend(userId, rollupStore.user(userId), type, granularity, points);
+    }
+
+    @Override
+    public List<TopContentEntry> getTopContent(EventType type, Duration window, int limit) {
+        Granularity granularity = Granularity.covering(window.toMillis());
+        long bucketMillis = granularity.getBucketMillis();
+        int buckets = (int) Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis);
+        long lastBucket = granularity.bucketOf(System.currentTimeMillis());
+
+        return rollupStore.topContent(type, granularity, lastBucket, buckets,
+                        Math.max(1, Math.min(limit, MAX_TOP_LIMIT)))
+                .stream()
+                .map(entry -> new TopContentEntry(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ActivitySummaryResponse getContentSummary(Long contentId) {
+        return summary(contentId, rollupStore.content(contentId));
+    }
+
+    @Override
+    public ActivitySummaryResponse getUserSummary(Long userId) {
+        return summary(userId, rollupStore.user(userId));
+    }
+
+    private TrendResponse trend(Long id, ActivityRollup rollup, EventType type, Granularity granularity, int points) {
+        int length = Math.max(1, Math.min(points, granularity.getRetainedBuckets()));
+        long lastBucket = granularity.bucketOf(System.currentTimeMillis());
+
+        TrendResponse response = new TrendResponse();
+        response.setId(id);
+        response.setType(type);
+        response.setGranularity(granularity);
+        response.setBucketMillis(granularity.getBucketMillis());
+        response.setFirstBucketStart((lastBucket - length + 1) * granularity.getBucketMillis());
+        response.setCounts(rollup != null
+                ? rollup.series(type, granularity, lastBucket, length)
+                : new long[length]);
+        return response;
+    }
+
+    private ActivitySummaryResponse summary(Long id, ActivityRollup rollup) {
+        ActivitySummaryResponse response = new ActivitySummaryResponse();
+        response.setId(id);
+        if (rollup != null) {
+            response.setDownloads(rollup.getDownloads());
+            response.setViews(rollup.getViews());
+            response.setUniqueCount(rollup.getDistinctCount());
+        }
+        return response;
+    }
+}
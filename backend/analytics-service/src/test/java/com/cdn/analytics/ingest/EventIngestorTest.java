@@ -0,0 +1,56 @@
+package com.cdn.analytics.ingest;
+
+import com.cdn.analytics.rollup.EventType;
+import com.cdn.analytics.rollup.RollupStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class EventIngestorTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void stopWithoutStartIsANoOp() {
+        EventIngestor ingestor = ingestor(new RollupStore(new SimpleMeterRegistry(), 100, Duration.ofDays(1), Duration.ofSeconds(10)));
+
+        assertThatCode(ingestor::stop).doesNotThrowAnyException();
+        assertThat(ingestor.isRunning()).isFalse();
+    }
+
+    @Test
+    void stopFlushesQueuedEventsToLogAndRollups() {
+        RollupStore rollups = new RollupStore(new SimpleMeterRegistry(), 100, Duration.ofDays(1), Duration.ofSeconds(10));
+        EventIngestor ingestor = ingestor(rollups);
+        ingestor.start();
+        long now = System.currentTimeMillis();
+
+        int accepted = ingestor.submit(List.of(
+                new AnalyticsEvent(EventType.DOWNLOAD, 1, 7, now),
+                new AnalyticsEvent(EventType.VIEW, 1, 8, now)));
+        ingestor.stop();
+
+        assertThat(accepted).isEqualTo(2);
+        assertThat(rollups.content(1).getDownloads()).isEqualTo(1);
+        assertThat(rollups.content(1).getViews()).isEqualTo(1);
+
+        RollupStore replayed = new RollupStore(new SimpleMeterRegistry(), 100, Duration.ofDays(1), Duration.ofSeconds(10));
+        EventIngestor restarted = ingestor(replayed);
+        restarted.start();
+        restarted.stop();
+        assertThat(replayed.content(1).getDownloads()).isEqualTo(1);
+        assertThat(replayed.content(1).getDistinctCount()).isEqualTo(2);
+    }
+
+    private EventIngestor ingestor(RollupStore rollups) {
+        return new EventIngestor(rollups, new SimpleMeterRegistry(), 100, 16, logDirectory.toString(), 1, 4);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cdn.analytics.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BucketedCounterTest {
+
+    private static final long MINUTE = Granularity.MINUTE.getBucketMillis();
+
+    @Test
+    void countsEventsPerBucket() {
+        BucketedCounter counter = new BucketedCounter(Granularity.MINUTE);
+        counter.increment(10 * MINUTE);
+        counter.increment(10 * MINUTE + 1);
+        counter.increment(11 * MINUTE);
+
+        assertThat(counter.count(10)).isEqualTo(2);
+        assertThat(counter.sum(11, 2)).isEqualTo(3);
+        assertThat(counter.series(11, 3)).containsExactly(0, 2, 1);
+    }
+
+    @Test
+    void slotIsReusedOnceTheRingWrapsAround() {
+        int ring = Granularity.MINUTE.getRetainedBuckets();
+        BucketedCounter counter = new BucketedCounter(Granularity.MINUTE);
+        counter.increment(5 * MINUTE);
+        counter.increment((5 + ring) * MINUTE);
+
+        assertThat(counter.count(5)).isZero();
+        assertThat(counter.count(5 + ring)).isEqualTo(1);
+    }
+
+    @Test
+    void eventsOlderThanTheSlotContentAreIgnored() {
+        int ring = Granularity.MINUTE.getRetainedBuckets();
+        BucketedCounter counter = new BucketedCounter(Granularity.MINUTE);
+        counter.increment((5 + ring) * MINUTE);
+        counter.increment(5 * MINUTE);
+
+        assertThat(counter.count(5 + ring)).isEqualTo(1);
+        assertThat(counter.count(5)).isZero();
+    }
+
+    @Test
+    void expiresOnceNewestBucketLeavesTheRing() {
+        int ring = Granularity.MINUTE.getRetainedBuckets();
+        BucketedCounter counter = new BucketedCounter(Granularity.MINUTE);
+        counter.increment(100 * MINUTE);
+
+        assertThat(counter.isExpired(100 + ring - 1)).isFalse();
+        assertThat(counter.isExpired(100 + ring)).isTrue();
+    }
+}
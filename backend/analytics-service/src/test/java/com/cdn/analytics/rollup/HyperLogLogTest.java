@@ -0,0 +1,34 @@
+package com.cdn.analytics.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    void duplicatesAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            sketch.offer(42);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(1);
+    }
+
+    @Test
+    void sequentialIdsEstimateWithinFewPercent() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 100_000; id++) {
+            sketch.offer(id);
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(100_000, within(10_000.0));
+    }
+}
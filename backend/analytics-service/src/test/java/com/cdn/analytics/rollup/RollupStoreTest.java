@@ -0,0 +1,144 @@
+package com.cdn.analytics.rollup;
+
+import com.cdn.analytics.ingest.AnalyticsEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupStoreTest {
+
+    private static final long HOUR = Granularity.HOUR.getBucketMillis();
+    private static final long DAY = Granularity.DAY.getBucketMillis();
+
+    @Test
+    void recentEventAllocatesEveryGranularityForItsTypeOnly() {
+        RollupStore store = store(100, Duration.ofDays(1));
+        store.apply(new AnalyticsEvent(EventType.VIEW, 1, 7, System.currentTimeMillis()));
+
+        ActivityRollup rollup = store.content(1);
+        for (Granularity granularity : Granularity.values()) {
+            assertThat(rollup.hasCounters(EventType.VIEW, granularity)).isTrue();
+            assertThat(rollup.hasCounters(EventType.DOWNLOAD, granularity)).isFalse();
+        }
+        assertThat(store.user(7).getViews()).isEqualTo(1);
+    }
+
+    @Test
+    void historicalEventOnlyAllocatesGranularitiesThatStillRetainIt() {
+        RollupStore store = store(100, Duration.ofDays(1));
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 1, 0, System.currentTimeMillis() - 10 * DAY));
+
+        ActivityRollup rollup = store.content(1);
+        assertThat(rollup.hasCounters(EventType.DOWNLOAD, Granularity.MINUTE)).isFalse();
+        assertThat(rollup.hasCounters(EventType.DOWNLOAD, Granularity.HOUR)).isFalse();
+        assertThat(rollup.hasCounters(EventType.DOWNLOAD, Granularity.DAY)).isTrue();
+        assertThat(rollup.getDownloads()).isEqualTo(1);
+    }
+
+    @Test
+    void trimReleasesCountersWhoseWindowHasPassed() {
+        RollupStore store = store(100, Duration.ofDays(1));
+        long now = System.currentTimeMillis();
+        store.apply(new AnalyticsEvent(EventType.VIEW, 1, 0, now));
+
+        store.trim(now + 3 * HOUR);
+
+        ActivityRollup rollup = store.content(1);
+        assertThat(rollup.hasCounters(EventType.VIEW, Granularity.MINUTE)).isFalse();
+        assertThat(rollup.hasCounters(EventType.VIEW, Granularity.HOUR)).isTrue();
+        assertThat(rollup.windowCount(EventType.VIEW, Granularity.HOUR, Granularity.HOUR.bucketOf(now), 1))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void idleEntitiesAreEvicted() throws InterruptedException {
+        RollupStore store = store(100, Duration.ofMillis(50));
+        store.apply(new AnalyticsEvent(EventType.VIEW, 1, 7, System.currentTimeMillis()));
+
+        Thread.sleep(100);
+        store.cleanUp();
+
+        assertThat(store.content(1)).isNull();
+        assertThat(store.user(7)).isNull();
+    }
+
+    @Test
+    void entityCountIsBounded() {
+        RollupStore store = store(10, Duration.ofDays(1));
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 1000; id++) {
+            store.apply(new AnalyticsEvent(EventType.VIEW, id, 0, now));
+        }
+
+        store.cleanUp();
+
+        assertThat(store.contentCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void futureEventDoesNotSuppressCurrentCounts() {
+        RollupStore store = store(100, Duration.ofDays(1));
+        long now = System.currentTimeMillis();
+        // One full ring ahead, so it maps to the slots the current events use.
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 1, 0, now + 120 * Granularity.MINUTE.getBucketMillis()));
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 1, 0, now + 168 * HOUR));
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 1, 0, now));
+
+        ActivityRollup rollup = store.content(1);
+        assertThat(rollup.windowCount(EventType.DOWNLOAD, Granularity.MINUTE, Granularity.MINUTE.bucketOf(now), 1))
+                .isEqualTo(1);
+        assertThat(rollup.windowCount(EventType.DOWNLOAD, Granularity.HOUR, Granularity.HOUR.bucketOf(now), 1))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void topContentOrdersByWindowCount() {
+        RollupStore store = store(100, Duration.ofDays(1));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 1, 0, now));
+        }
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 2, 0, now));
+        for (int i = 0; i < 5; i++) {
+            store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 3, 0, now));
+        }
+
+        List<Map.Entry<Long, Long>> top = store.topContent(EventType.DOWNLOAD, Granularity.HOUR,
+                Granularity.HOUR.bucketOf(now), 1, 2);
+
+        assertThat(top).extracting(Map.Entry::getKey).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void topContentIsReusedWithinTheRefreshIntervalOfItsBucket() throws InterruptedException {
+        RollupStore store = new RollupStore(new SimpleMeterRegistry(), 100, Duration.ofDays(1), Duration.ofMillis(50));
+        long now = System.currentTimeMillis();
+        long bucket = Granularity.HOUR.bucketOf(now);
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 1, 0, now));
+        assertThat(store.topContent(EventType.DOWNLOAD, Granularity.HOUR, bucket, 1, 1))
+                .extracting(Map.Entry::getKey).containsExactly(1L);
+
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 2, 0, now));
+        store.apply(new AnalyticsEvent(EventType.DOWNLOAD, 2, 0, now));
+
+        assertThat(store.topContent(EventType.DOWNLOAD, Granularity.HOUR, bucket, 1, 1))
+                .extracting(Map.Entry::getKey).containsExactly(1L);
+        // A different window is its own ranking and sees the new events straight away
+        assertThat(store.topContent(EventType.DOWNLOAD, Granularity.HOUR, bucket, 2, 1))
+                .extracting(Map.Entry::getKey).containsExactly(2L);
+
+        Thread.sleep(100);
+
+        assertThat(store.topContent(EventType.DOWNLOAD, Granularity.HOUR, bucket, 1, 1))
+                .extracting(Map.Entry::getKey).containsExactly(2L);
+    }
+
+    private static RollupStore store(long maxEntities, Duration idleExpiry) {
+        return new RollupStore(new SimpleMeterRegistry(), maxEntities, idleExpiry, Duration.ofSeconds(10));
+    }
+}
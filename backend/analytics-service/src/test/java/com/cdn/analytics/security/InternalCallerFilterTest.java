@@ -0,0 +1,78 @@
+package com.cdn.analytics.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InternalCallerFilterTest {
+
+    private static final String SECRET = "gatewayIdentitySecret1234567890abcdef";
+
+    private final InternalCallerFilter filter = new InternalCallerFilter(SECRET, 300_000);
+    private final GatewayIdentityVerifier signer = new GatewayIdentityVerifier(SECRET, 300_000);
+
+    @Test
+    void unsignedIngestIsRejected() throws Exception {
+        MockHttpServletRequest request = ingest();
+        request.addHeader(InternalCallerFilter.USER_ROLES_HEADER, InternalCallerFilter.INTERNAL_ROLE);
+
+        MockHttpServletResponse response = run(request);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void signedUserWithoutInternalRoleIsForbidden() throws Exception {
+        MockHttpServletRequest request = signed(ingest(), "7", "alice", "USER");
+
+        MockHttpServletResponse response = run(request);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void signedInternalCallerIsAllowed() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(signed(ingest(), null, "content-service", "INTERNAL"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void queriesAreNotFiltered() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/analytics/content/top"),
+                new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertThat(chain.getRequest()).isNull();
+        return response;
+    }
+
+    private MockHttpServletRequest signed(MockHttpServletRequest request, String userId, String username, String roles) {
+        long timestamp = System.currentTimeMillis();
+        if (userId != null) {
+            request.addHeader(InternalCallerFilter.USER_ID_HEADER, userId);
+        }
+        request.addHeader(InternalCallerFilter.USER_NAME_HEADER, username);
+        request.addHeader(InternalCallerFilter.USER_ROLES_HEADER, roles);
+        request.addHeader(InternalCallerFilter.TIMESTAMP_HEADER, Long.toString(timestamp));
+        request.addHeader(InternalCallerFilter.SIGNATURE_HEADER, signer.sign(userId, username, roles, timestamp));
+        return request;
+    }
+
+    private static MockHttpServletRequest ingest() {
+        return new MockHttpServletRequest("POST", "/api/v1/analytics/events");
+    }
+}
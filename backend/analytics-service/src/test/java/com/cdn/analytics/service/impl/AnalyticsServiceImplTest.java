@@ -0,0 +1,86 @@
+package com.cdn.analytics.service.impl;
+
+import com.cdn.analytics.dto.AnalyticsEventRequest;
+import com.cdn.analytics.dto.IngestResponse;
+import com.cdn.analytics.ingest.AnalyticsEvent;
+import com.cdn.analytics.ingest.EventIngestor;
+import com.cdn.analytics.rollup.EventType;
+import com.cdn.analytics.rollup.RollupStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceImplTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @Mock
+    private EventIngestor eventIngestor;
+
+    @Mock
+    private RollupStore rollupStore;
+
+    @InjectMocks
+    private AnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(analyticsService, "maxClockSkew", Duration.ofSeconds(60));
+        when(eventIngestor.submit(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    @Test
+    void rejectsEventsOutsideRetainedHistoryAndClockSkew() {
+        long now = System.currentTimeMillis();
+
+        IngestResponse response = analyticsService.ingest(List.of(
+                event(1L, now - 10 * DAY),
+                event(2L, now + 365 * DAY),
+                event(3L, now - 365 * DAY),
+                event(4L, null)));
+
+        assertThat(submitted()).extracting(AnalyticsEvent::getContentId).containsExactly(1L, 4L);
+        assertThat(response.getAccepted()).isEqualTo(2);
+        assertThat(response.getDropped()).isEqualTo(2);
+    }
+
+    @Test
+    void stampsSlightlyFutureEventsWithServerTime() {
+        long before = System.currentTimeMillis();
+
+        analyticsService.ingest(List.of(event(1L, before + 30_000)));
+
+        long stamped = submitted().get(0).getTimestamp();
+        assertThat(stamped).isBetween(before, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AnalyticsEvent> submitted() {
+        ArgumentCaptor<List<AnalyticsEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventIngestor).submit(events.capture());
+        return events.getValue();
+    }
+
+    private static AnalyticsEventRequest event(Long contentId, Long timestamp) {
+        AnalyticsEventRequest request = new AnalyticsEventRequest();
+        request.setType(EventType.VIEW);
+        request.setContentId(contentId);
+        request.setUserId(7L);
+        request.setTimestamp(timestamp);
+        return request;
+    }
+}
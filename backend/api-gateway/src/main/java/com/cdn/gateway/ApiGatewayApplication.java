@@ -2,8 +2,6 @@ package com.cdn.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.gateway.route.RouteLocator;
-import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
@@ -18,48 +16,6 @@ public class ApiGatewayApplication {
         SpringApplication.run(ApiGatewayApplication.class, args);
     }
 
-    @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
-        return builder.routes()
-                // Content Service Routes
-                .route("content-service", r -> r
-                        .path("/api/v1/content/**")
-                        .filters(f -> f
-                                .stripPrefix(0)
-                                .addRequestHeader("X-Gateway", "api-gateway")
-                        )
-                        .uri("http://content-service:8081"))
-                
-                // User Service Routes
-                .route("user-service", r -> r
-                        .path("/api/v1/users/**", "/api/v1/auth/**")
-                        .filters(f -> f
-                                .stripPrefix(0)
-                                .addRequestHeader("X-Gateway", "api-gateway")
-                        )
-                        .uri("http://user-service:8082"))
-                
-                // Analytics Service Routes
-                .route("analytics-service", r -> r
-                        .path("/api/v1/analytics/**")
-                        .filters(f -> f
-                                .stripPrefix(0)
-                                .addRequestHeader("X-Gateway", "api-gateway")
-                        )
-                        .uri("http://analytics-service:8083"))
-                
-                // Notification Service Routes
-                .route("notification-service", r -> r
-                        .path("/api/v1/notifications/**")
-                        .filters(f -> f
-                                .stripPrefix(0)
-                                .addRequestHeader("X-Gateway", "api-gateway")
-                        )
-                        .uri("http://notification-service:8084"))
-                        
-                .build();
-    }
-
     @Bean
     public CorsWebFilter corsWebFilter() {
         CorsConfiguration corsConfig = new CorsConfiguration();
@@ -0,0 +1,28 @@
+package com.cdn.gateway.config;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+@Configuration
+public class RateLimitConfig {
+
+    // Authenticated callers are limited per user; anonymous reads and public paths per client
+    // address. The default principal-only resolver denies every request without a principal.
+    @Bean
+    public KeyResolver principalOrIpKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .map(Principal::getName)
+                .map(name -> "user:" + name)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+                    return remoteAddress != null && remoteAddress.getAddress() != null
+                            ? "ip:" + remoteAddress.getAddress().getHostAddress()
+                            : "ip:unknown";
+                }));
+    }
+}
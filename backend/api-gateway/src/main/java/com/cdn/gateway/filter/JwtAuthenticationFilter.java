@@ -0,0 +1,148 @@
+package com.cdn.gateway.filter;
+
+import com.cdn.gateway.security.IdentitySigner;
+import com.cdn.gateway.security.JwtTokenVerifier;
+import com.cdn.gateway.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Authenticates requests once at the edge and forwards the verified identity to
+ * downstream services as signed headers, so they never re-parse the token.
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenVerifier tokenVerifier;
+    private final IdentitySigner identitySigner;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> publicPaths;
+    private final boolean anonymousReads;
+
+    public JwtAuthenticationFilter(JwtTokenVerifier tokenVerifier,
+                                   IdentitySigner identitySigner,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${gateway.auth.public-paths:/api/v1/auth/**,/actuator/**}") List<String> publicPaths,
+                                   @Value("${gateway.auth.anonymous-reads:true}") boolean anonymousReads) {
+        this.tokenVerifier = tokenVerifier;
+        this.identitySigner = identitySigner;
+        this.meterRegistry = meterRegistry;
+        this.publicPaths = publicPaths;
+        this.anonymousReads = anonymousReads;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        // Identity headers are only ever set by the gateway; never trust client-supplied values.
+        ServerHttpRequest.Builder stripped = request.mutate().headers(headers -> {
+            headers.remove(USER_ID_HEADER);
+            headers.remove(USER_NAME_HEADER);
+            headers.remove(USER_ROLES_HEADER);
+            headers.remove(IdentitySigner.TIMESTAMP_HEADER);
+            headers.remove(IdentitySigner.SIGNATURE_HEADER);
+        });
+
+        String token = extractToken(request);
+        if (token == null) {
+            if (isPublic(request) || (anonymousReads && isRead(request))) {
+                return chain.filter(exchange.mutate().request(stripped.build()).build());
+            }
+            return reject(exchange, "missing");
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = tokenVerifier.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token for {}: {}", request.getPath(), e.getMessage());
+            return reject(exchange, "invalid");
+        }
+
+        String roles = verified.getRoles().isEmpty() ? null : String.join(",", verified.getRoles());
+        long timestamp = System.currentTimeMillis();
+        ServerHttpRequest authenticated = stripped.headers(headers -> {
+            if (verified.getUserId() != null) {
+                headers.set(USER_ID_HEADER, verified.getUserId());
+            }
+            if (verified.getUsername() != null) {
+                headers.set(USER_NAME_HEADER, verified.getUsername());
+            }
+            if (roles != null) {
+                headers.set(USER_ROLES_HEADER, roles);
+            }
+            headers.set(IdentitySigner.TIMESTAMP_HEADER, Long.toString(timestamp));
+            headers.set(IdentitySigner.SIGNATURE_HEADER, identitySigner.sign(
+                    verified.getUserId(), verified.getUsername(), roles, timestamp));
+        }).build();
+
+        UsernamePasswordAuthenticationToken principal = new UsernamePasswordAuthenticationToken(
+                verified.getPrincipalName(), null,
+                verified.getRoles().stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+
+        return chain.filter(exchange.mutate()
+                .request(authenticated)
+                .principal(Mono.just(principal))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of route filters such as RequestRateLimiter, which key on the principal.
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    private String extractToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private boolean isPublic(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        return request.getMethod() == HttpMethod.OPTIONS
+                || publicPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private boolean isRead(ServerHttpRequest request) {
+        return request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String reason) {
+        meterRegistry.counter("gateway.auth.rejected", "reason", reason).increment();
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        return exchange.getResponse().setComplete();
+    }
+}
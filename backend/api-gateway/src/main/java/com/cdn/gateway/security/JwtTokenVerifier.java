@@ -0,0 +1,160 @@
+package com.cdn.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies bearer tokens once at the edge. Successfully verified tokens are kept
+ * in a bounded cache keyed by the SHA-256 of the raw token until the token's own
+ * expiry, so repeat requests skip the HMAC check and claims parsing entirely.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer verificationTimer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwtTokenVerifier(@Value("${jwt.secret}") String secret,
+                            @Value("${gateway.auth.token-cache.max-size:100000}") long maxCacheSize,
+                            MeterRegistry meterRegistry) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        this.verificationTimer = Timer.builder("gateway.auth.token.verification")
+                .description("Time spent verifying JWT signatures and parsing claims")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("gateway.auth.token.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("gateway.auth.token.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "gateway.verified-tokens");
+    }
+
+    /**
+     * Returns the verified identity for the token, or throws {@link JwtException}
+     * if the token is malformed, badly signed or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(now)) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+
+        VerifiedToken verified = verificationTimer.record(() -> parse(token));
+        if (verified.isExpired(now)) {
+            throw new JwtException("Token has expired");
+        }
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new JwtException("Token has no expiration");
+        }
+
+        Object userIdClaim = claims.get("userId");
+        String subject = claims.getSubject();
+        if (userIdClaim == null && (subject == null || subject.isBlank())) {
+            throw new JwtException("Token has no subject");
+        }
+        // Services bind X-User-Id to a Long, so only a numeric id is forwarded as one.
+        String userId = numericOrNull(userIdClaim != null ? userIdClaim.toString() : subject);
+
+        return new VerifiedToken(userId, subject, rolesOf(claims), expiration.getTime());
+    }
+
+    private static String numericOrNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.toString(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private List<String> rolesOf(Claims claims) {
+        Object roles = claims.get("roles");
+        if (roles instanceof Collection<?> collection) {
+            return collection.stream().map(String::valueOf).collect(Collectors.toList());
+        }
+        if (roles instanceof String value && !value.isBlank()) {
+            return List.of(value.split(","));
+        }
+        return Collections.emptyList();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.getExpiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cdn.gateway.security;
+
+import java.util.List;
+
+public final class VerifiedToken {
+
+    private final String userId;
+    private final String username;
+    private final List<String> roles;
+    private final long expiresAtMillis;
+
+    public VerifiedToken(String userId, String username, List<String> roles, long expiresAtMillis) {
+        this.userId = userId;
+        this.username = username;
+        this.roles = List.copyOf(roles);
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /** Numeric user id, or null if the token does not carry one. */
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /** Name the caller is known by for rate limiting: the user id, else the token subject. */
+    public String getPrincipalName() {
+        return userId != null ? userId : username;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,139 @@
+package com.cdn.gateway.filter;
+
+import com.cdn.gateway.config.RateLimitConfig;
+import com.cdn.gateway.security.IdentitySigner;
+import com.cdn.gateway.security.JwtTokenVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String JWT_SECRET = "testSecretKey12345678901234567890123456789";
+    private static final InetSocketAddress CLIENT = new InetSocketAddress("203.0.113.7", 50000);
+
+    private final IdentitySigner identitySigner = new IdentitySigner("identitySecret");
+    private final KeyResolver keyResolver = new RateLimitConfig().principalOrIpKeyResolver();
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(
+                new JwtTokenVerifier(JWT_SECRET, 1000, meterRegistry), identitySigner, meterRegistry,
+                List.of("/api/v1/auth/**", "/api/v1/content/*/download", "/actuator/**"), true);
+    }
+
+    @Test
+    void anonymousReadIsForwardedAndRateLimitedByClientAddress() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/content/1"));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(forwarded.get()).isNotNull();
+        assertThat(keyResolver.resolve(forwarded.get()).block()).isEqualTo("ip:203.0.113.7");
+    }
+
+    @Test
+    void loginIsForwardedWithoutToken() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/v1/auth/login"));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(keyResolver.resolve(forwarded.get()).block()).isNotEmpty();
+    }
+
+    @Test
+    void writeWithoutTokenIsRejected() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/v1/content/upload"));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    void clientSuppliedIdentityHeadersAreStripped() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/content/1")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "1")
+                .header(IdentitySigner.SIGNATURE_HEADER, "forged"));
+
+        filter.filter(exchange, this::forward).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+        assertThat(headers.containsKey(IdentitySigner.SIGNATURE_HEADER)).isFalse();
+    }
+
+    @Test
+    void verifiedIdentityIsForwardedWithSignature() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/v1/content/upload")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("alice", 42L)));
+
+        filter.filter(exchange, this::forward).block();
+
+        ServerHttpRequest request = forwarded.get().getRequest();
+        HttpHeaders headers = request.getHeaders();
+        long timestamp = Long.parseLong(headers.getFirst(IdentitySigner.TIMESTAMP_HEADER));
+        assertThat(headers.getFirst(JwtAuthenticationFilter.USER_ID_HEADER)).isEqualTo("42");
+        assertThat(headers.getFirst(IdentitySigner.SIGNATURE_HEADER))
+                .isEqualTo(identitySigner.sign("42", "alice", "USER", timestamp));
+        assertThat(keyResolver.resolve(forwarded.get()).block()).isEqualTo("user:42");
+    }
+
+    @Test
+    void nonNumericSubjectIsNotForwardedAsUserId() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/content/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("alice", null)));
+
+        filter.filter(exchange, this::forward).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+        assertThat(headers.getFirst(JwtAuthenticationFilter.USER_NAME_HEADER)).isEqualTo("alice");
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange) {
+        forwarded.set(exchange);
+        return Mono.empty();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.remoteAddress(CLIENT));
+    }
+
+    private static String token(String subject, Long userId) {
+        var builder = Jwts.builder()
+                .setSubject(subject)
+                .claim("roles", List.of("USER"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        if (userId != null) {
+            builder.claim("userId", userId);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
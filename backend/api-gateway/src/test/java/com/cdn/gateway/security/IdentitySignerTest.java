@@ -0,0 +1,25 @@
+package com.cdn.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the identity contract the services verify: HMAC-SHA256 over
+ * "userId\nusername\nroles\ntimestamp" (missing values as ""), Base64url without padding.
+ * Each service's GatewayIdentityVerifierTest and the load-test signer check the same vector.
+ */
+class IdentitySignerTest {
+
+    private static final long SIGNED_AT = 1_700_000_000_000L;
+
+    private final IdentitySigner signer = new IdentitySigner("gatewayIdentitySecret1234567890abcdef");
+
+    @Test
+    void signaturesMatchThePinnedVector() {
+        assertThat(signer.sign("42", "alice", "USER,ADMIN", SIGNED_AT))
+                .isEqualTo("43xbKDK2gGahY6IqxDJxI1Il9suL7vt7zqo3rwAdTrk");
+        assertThat(signer.sign(null, "content-service", "INTERNAL", SIGNED_AT))
+                .isEqualTo("HfZRiAivbgpxZ85qiz1-SVSbsIpbz8Gn6wDqt5LDsTM");
+    }
+}
@@ -0,0 +1,97 @@
+package com.cdn.gateway.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "testSecretKey12345678901234567890123456789";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new JwtTokenVerifier(SECRET, 1000, meterRegistry);
+    }
+
+    @Test
+    void repeatedTokenIsServedFromCache() {
+        String token = token("alice", 42L, 60_000);
+
+        VerifiedToken first = verifier.verify(token);
+        VerifiedToken second = verifier.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheCount("hit")).isEqualTo(1);
+        assertThat(cacheCount("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItExpires() throws InterruptedException {
+        String token = token("alice", 42L, 2_000);
+        verifier.verify(token);
+
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void numericUserIdClaimIsForwarded() {
+        VerifiedToken verified = verifier.verify(token("alice", 42L, 60_000));
+
+        assertThat(verified.getUserId()).isEqualTo("42");
+        assertThat(verified.getUsername()).isEqualTo("alice");
+        assertThat(verified.getRoles()).containsExactly("USER");
+    }
+
+    @Test
+    void nonNumericSubjectIsNotUsedAsUserId() {
+        VerifiedToken verified = verifier.verify(token("alice", null, 60_000));
+
+        assertThat(verified.getUserId()).isNull();
+        assertThat(verified.getPrincipalName()).isEqualTo("alice");
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String forged = Jwts.builder()
+                .setSubject("mallory")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("anotherSecretKey123456789012345678901234".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.verify(forged)).isInstanceOf(JwtException.class);
+    }
+
+    private String token(String subject, Long userId, long ttlMillis) {
+        var builder = Jwts.builder()
+                .setSubject(subject)
+                .claim("roles", List.of("USER"))
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis));
+        if (userId != null) {
+            builder.claim("userId", userId);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("gateway.auth.token.cache").tag("result", result).counter().count();
+    }
+}
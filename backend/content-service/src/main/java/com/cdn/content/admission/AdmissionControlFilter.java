@@ -0,0 +1,83 @@
+package com.cdn.content.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Classifies each API request, admits it against the adaptive limit and rejects the
+ * excess immediately with 503 and Retry-After, before security, multipart parsing
+ * or any database work happens.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/content";
+
+    private final GradientConcurrencyLimiter limiter;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    public AdmissionControlFilter(GradientConcurrencyLimiter limiter, boolean enabled, int retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, meterRegistry.counter("content.admission.rejected",
+                    "priority", priority.name().toLowerCase()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = classify(request);
+        if (!limiter.tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+
+        int inflightAtStart = limiter.getInflight();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            boolean sample = priority == RequestPriority.DOWNLOAD || priority == RequestPriority.METADATA;
+            limiter.release(System.nanoTime() - start, inflightAtStart, sample);
+        }
+    }
+
+    static RequestPriority classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+
+        if ("POST".equals(method) && path.endsWith("/upload")) {
+            return RequestPriority.UPLOAD;
+        }
+        if (path.endsWith("/download")) {
+            return RequestPriority.DOWNLOAD;
+        }
+        if (path.endsWith("/search") || request.getParameter("search") != null) {
+            return RequestPriority.SEARCH;
+        }
+        return RequestPriority.METADATA;
+    }
+}
@@ -0,0 +1,100 @@
+package com.cdn.content.admission;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit driven by latency, in the style of Netflix's Gradient2.
+ * A slow-moving average of request latency stands in for the no-load latency; when
+ * short-term latency rises above it (queueing), the limit shrinks proportionally, and
+ * while latency stays flat it grows by roughly sqrt(limit) per sample.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Map<RequestPriority, Double> shares;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double longWindow;
+
+    private volatile double limit;
+    private double longRtt;
+    private double shortRtt;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, double tolerance, int longWindow,
+                                      Map<RequestPriority, Double> shares) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+        this.shares = new EnumMap<>(shares);
+    }
+
+    /**
+     * Admits the request if its class is under its share of the limit. Every successful
+     * call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit * shares.getOrDefault(priority, priority.getDefaultShare())));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit. {@code rttNanos} is fed to the limit when {@code sample} is set;
+     * callers only sample classes with comparable latencies so slow uploads do not read as congestion.
+     */
+    public void release(long rttNanos, int inflightAtStart, boolean sample) {
+        inflight.decrementAndGet();
+        if (sample) {
+            onSample(rttNanos, inflightAtStart);
+        }
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inflightAtStart) {
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = rtt;
+            shortRtt = rtt;
+            return;
+        }
+        shortRtt = shortRtt * 0.9 + rtt * 0.1;
+        longRtt = longRtt + (rtt - longRtt) / longWindow;
+
+        // After a sustained drop in latency, let the baseline catch up instead of over-admitting.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Do not grow the limit while demand is well below it; the latency says nothing about capacity.
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,23 @@
+package com.cdn.content.admission;
+
+/**
+ * Admission classes, most critical first. Each class may only use its share of the
+ * current concurrency limit, so as the limit shrinks under load uploads are shed
+ * first, then search, while downloads and metadata reads keep the full limit.
+ */
+public enum RequestPriority {
+    DOWNLOAD(1.0),
+    METADATA(1.0),
+    SEARCH(0.75),
+    UPLOAD(0.5);
+
+    private final double defaultShare;
+
+    RequestPriority(double defaultShare) {
+        this.defaultShare = defaultShare;
+    }
+
+    public double getDefaultShare() {
+        return defaultShare;
+    }
+}
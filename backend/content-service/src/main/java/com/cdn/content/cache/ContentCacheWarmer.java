@@ -0,0 +1,91 @@
+package com.cdn.content.cache;
+
+import com.cdn.content.config.CacheConfig;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.service.ContentService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the most downloaded and most recently uploaded content into the content cache.
+ * Application runners complete before Spring Boot switches readiness to ACCEPTING_TRAFFIC,
+ * so /actuator/health/readiness keeps a new instance out of rotation until this is done.
+ */
+@Component
+public class ContentCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCacheWarmer.class);
+
+    private final ContentService contentService;
+    private final CacheManager cacheManager;
+    private final Timer duration;
+    private final AtomicInteger target = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final boolean enabled;
+    private final int popularCount;
+    private final int recentCount;
+
+    public ContentCacheWarmer(ContentService contentService,
+                              CacheManager cacheManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${content.cache.warmup.enabled:true}") boolean enabled,
+                              @Value("${content.cache.warmup.popular:500}") int popularCount,
+                              @Value("${content.cache.warmup.recent:200}") int recentCount) {
+        this.contentService = contentService;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.popularCount = popularCount;
+        this.recentCount = recentCount;
+        this.target.set(enabled ? popularCount + recentCount : 0);
+        this.duration = meterRegistry.timer("content.cache.warmup.duration");
+        Gauge.builder("content.cache.warmup.target", target, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("content.cache.warmup.loaded", loaded, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("content.cache.warmup.progress", this, ContentCacheWarmer::getProgress).register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !(cacheManager.getCache(CacheConfig.CONTENT_CACHE) instanceof WarmableCache cache)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            warm(cache, contentService.getPopularContent(popularCount));
+            warm(cache, contentService.getRecentContent(recentCount));
+        } catch (RuntimeException e) {
+            // A cold cache is slower, not broken; do not hold the instance out of rotation for it.
+            log.warn("Content cache warm-up stopped after {} items: {}", loaded.get(), e.getMessage());
+        } finally {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // Popular and recent overlap, and either list may be shorter than requested.
+            target.set(loaded.get());
+        }
+        log.info("Warmed content cache with {} items in {} ms",
+                loaded.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public double getProgress() {
+        int expected = target.get();
+        return expected == 0 ? 1.0 : Math.min(1.0, (double) loaded.get() / expected);
+    }
+
+    private void warm(WarmableCache cache, List<ContentResponse> responses) {
+        for (ContentResponse response : responses) {
+            if (cache.putWarm(response.getId(), response)) {
+                loaded.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.cdn.content.cache;
+
+import com.cdn.content.config.CacheConfig;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.repository.ContentRepository;
+import com.cdn.content.service.ContentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Predicts which items will be requested next from the stream of content reads and loads
+ * them into the content cache ahead of time. Three signals are used:
+ * <ul>
+ *   <li>sequence: items viewers most often opened right after this one, learned from the access log</li>
+ *   <li>series: the next episode, for content with numeric {@code series}/{@code episode} metadata</li>
+ *   <li>tags: the most downloaded items sharing the most tags with this one</li>
+ * </ul>
+ * Predictions run on a single background thread with a bounded queue; accesses that do not
+ * fit are dropped, and each item is predicted for at most once per cooldown period.
+ */
+@Component
+public class ContentPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentPrefetcher.class);
+    private static final int MAX_SUCCESSORS = 16;
+
+    private final boolean enabled;
+    private final ContentService contentService;
+    private final ContentRepository contentRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final int relatedLimit;
+    private final int minSequenceSupport;
+    private final Cache<Long, Long> lastAccessByViewer;
+    private final Cache<Long, Map<Long, AtomicInteger>> successors;
+    private final Cache<Long, Boolean> recentlyPredicted;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter loaded;
+    private final Counter dropped;
+
+    public ContentPrefetcher(ContentService contentService,
+                             ContentRepository contentRepository,
+                             CacheManager cacheManager,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${content.cache.prefetch.enabled:false}") boolean enabled,
+                             @Value("${content.cache.prefetch.related-limit:3}") int relatedLimit,
+                             @Value("${content.cache.prefetch.min-sequence-support:2}") int minSequenceSupport,
+                             @Value("${content.cache.prefetch.cooldown-seconds:300}") long cooldownSeconds,
+                             @Value("${content.cache.prefetch.queue-size:1000}") int queueSize) {
+        this.enabled = enabled;
+        this.contentService = contentService;
+        this.contentRepository = contentRepository;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.relatedLimit = relatedLimit;
+        this.minSequenceSupport = minSequenceSupport;
+        this.lastAccessByViewer = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .maximumSize(100_000)
+                .build();
+        this.successors = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofHours(6))
+                .maximumSize(50_000)
+                .build();
+        this.recentlyPredicted = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cooldownSeconds))
+                .maximumSize(100_000)
+                .build();
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "content-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.meterRegistry = meterRegistry;
+        this.loaded = meterRegistry.counter("content.cache.prefetch.loaded");
+        this.dropped = meterRegistry.counter("content.cache.prefetch.dropped");
+    }
+
+    /**
+     * Records a read of {@code response} by {@code viewerId} (null for anonymous readers)
+     * and schedules prefetching of the items likely to be read next.
+     */
+    public void onAccess(ContentResponse response, Long viewerId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(response, viewerId));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(ContentResponse response, Long viewerId) {
+        Long contentId = response.getId();
+        if (viewerId != null) {
+            Long previous = lastAccessByViewer.asMap().put(viewerId, contentId);
+            if (previous != null && !previous.equals(contentId)) {
+                recordTransition(previous, contentId);
+            }
+        }
+
+        if (recentlyPredicted.asMap().putIfAbsent(contentId, Boolean.TRUE) != null
+                || !(cacheManager.getCache(CacheConfig.CONTENT_CACHE) instanceof WarmableCache cache)) {
+            return;
+        }
+
+        try {
+            Set<Long> candidates = new LinkedHashSet<>();
+            addPredictions(candidates, "sequence", predictFromSequence(contentId));
+            addPredictions(candidates, "series", predictNextEpisode(response));
+            addPredictions(candidates, "tags", predictFromTags(response));
+            candidates.remove(contentId);
+            candidates.removeIf(cache::contains);
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            for (ContentResponse candidate : contentService.getContentByIds(candidates)) {
+                if (cache.putWarm(candidate.getId(), candidate)) {
+                    loaded.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("Prefetch for content {} failed: {}", contentId, e.getMessage());
+        }
+    }
+
+    private void recordTransition(Long from, Long to) {
+        Map<Long, AtomicInteger> next = successors.get(from, key -> new ConcurrentHashMap<>());
+        AtomicInteger count = next.get(to);
+        if (count == null) {
+            if (next.size() >= MAX_SUCCESSORS) {
+                return;
+            }
+            count = next.computeIfAbsent(to, key -> new AtomicInteger());
+        }
+        count.incrementAndGet();
+    }
+
+    private List<Long> predictFromSequence(Long contentId) {
+        Map<Long, AtomicInteger> next = successors.getIfPresent(contentId);
+        if (next == null) {
+            return List.of();
+        }
+        List<Map.Entry<Long, AtomicInteger>> entries = new ArrayList<>(next.entrySet());
+        entries.sort(Comparator.comparingInt((Map.Entry<Long, AtomicInteger> e) -> e.getValue().get()).reversed());
+        List<Long> predicted = new ArrayList<>();
+        for (Map.Entry<Long, AtomicInteger> entry : entries) {
+            if (predicted.size() >= relatedLimit || entry.getValue().get() < minSequenceSupport) {
+                break;
+            }
+            predicted.add(entry.getKey());
+        }
+        return predicted;
+    }
+
+    private List<Long> predictNextEpisode(ContentResponse response) {
+        if (response.getMetadata() == null) {
+            return List.of();
+        }
+        try {
+            JsonNode metadata = objectMapper.readTree(response.getMetadata());
+            JsonNode series = metadata.get("series");
+            JsonNode episode = metadata.get("episode");
+            if (series == null || series.isNull() || episode == null || !episode.canConvertToLong()) {
+                return List.of();
+            }
+            ObjectNode next = objectMapper.createObjectNode();
+            next.set("series", series);
+            next.put("episode", episode.asLong() + 1);
+            return contentRepository.findIdsByMetadataContaining(objectMapper.writeValueAsString(next), 1);
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private List<Long> predictFromTags(ContentResponse response) {
+        if (response.getTags() == null || response.getTags().isEmpty()) {
+            return List.of();
+        }
+        return contentRepository.findIdsSharingTags(
+                response.getId(), response.getTags(), PageRequest.of(0, relatedLimit));
+    }
+
+    private void addPredictions(Set<Long> candidates, String source, List<Long> predicted) {
+        if (!predicted.isEmpty()) {
+            meterRegistry.counter("content.cache.prefetch.predicted", "source", source).increment(predicted.size());
+            candidates.addAll(predicted);
+        }
+    }
+}
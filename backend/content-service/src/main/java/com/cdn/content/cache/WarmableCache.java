@@ -0,0 +1,157 @@
+package com.cdn.content.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator that remembers which entries were preloaded by warm-up or prefetching
+ * rather than filled by a request miss. Lookups are counted as warm hits, hits or misses,
+ * which gives the share of traffic served only because the entry was loaded ahead of time.
+ */
+public class WarmableCache implements Cache {
+
+    private final Cache delegate;
+    private final Counter warmHits;
+    private final Counter hits;
+    private final Counter misses;
+
+    public WarmableCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.warmHits = lookupCounter(meterRegistry, "warm_hit");
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("content.cache.warm.hit.ratio", this, WarmableCache::getWarmHitRatio)
+                .tag("cache", delegate.getName())
+                .register(meterRegistry);
+    }
+
+    private Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("content.cache.lookups")
+                .tag("cache", delegate.getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores a preloaded value unless the key is already cached.
+     *
+     * @return true if the value was stored
+     */
+    public boolean putWarm(Object key, Object value) {
+        return delegate.putIfAbsent(key, new WarmValue(value)) == null;
+    }
+
+    /** Checks for an entry without counting it as a lookup. */
+    public boolean contains(Object key) {
+        if (delegate.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return nativeCache.asMap().containsKey(key);
+        }
+        return delegate.get(key) != null;
+    }
+
+    public double getWarmHitRatio() {
+        double total = warmHits.count() + hits.count() + misses.count();
+        return total == 0 ? 0.0 : warmHits.count() / total;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            misses.increment();
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value instanceof WarmValue warm) {
+            warmHits.increment();
+            return new SimpleValueWrapper(warm.value());
+        }
+        hits.increment();
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return unwrap(delegate.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(Object value) {
+        return (T) (value instanceof WarmValue warm ? warm.value() : value);
+    }
+
+    private static final class WarmValue {
+
+        private final Object value;
+
+        private WarmValue(Object value) {
+            this.value = value;
+        }
+
+        private Object value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cdn.content.client;
+
+import com.cdn.content.security.GatewayAuthenticationFilter;
+import com.cdn.content.security.GatewayIdentityVerifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fire-and-forget reporting of views and downloads to analytics-service. Events are
+ * buffered and shipped in one request per flush; when analytics is unreachable or the
+ * buffer is full they are dropped rather than slowing down content requests.
+ */
+@Component
+public class AnalyticsClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsClient.class);
+    private static final String SERVICE_NAME = "content-service";
+    private static final String INTERNAL_ROLE = "INTERNAL";
+
+    private final RestClient restClient;
+    private final GatewayIdentityVerifier identitySigner;
+    private final BlockingQueue<Map<String, Object>> buffer;
+    private final int maxBatchSize;
+
+    public AnalyticsClient(@Value("${services.analytics-service.url}") String baseUrl,
+                           @Value("${services.analytics-service.timeout-ms:1000}") int timeoutMs,
+                           @Value("${services.analytics-service.buffer-size:10000}") int bufferSize,
+                           @Value("${services.analytics-service.max-batch-size:1000}") int maxBatchSize,
+                           @Value("${gateway.identity.secret}") String identitySecret) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.maxBatchSize = maxBatchSize;
+        this.identitySigner = new GatewayIdentityVerifier(identitySecret, 0);
+    }
+
+    public void recordView(Long contentId, Long userId) {
+        record("VIEW", contentId, userId);
+    }
+
+    public void recordDownload(Long contentId, Long userId) {
+        record("DOWNLOAD", contentId, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${services.analytics-service.flush-interval-ms:1000}")
+    public void flush() {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        while (buffer.drainTo(batch, maxBatchSize) > 0) {
+            // Analytics only takes events from services, signed like the gateway signs a user
+            long timestamp = System.currentTimeMillis();
+            try {
+                restClient.post()
+                        .uri("/api/v1/analytics/events")
+                        .header(GatewayAuthenticationFilter.USER_NAME_HEADER, SERVICE_NAME)
+                        .header(GatewayAuthenticationFilter.USER_ROLES_HEADER, INTERNAL_ROLE)
+                        .header(GatewayAuthenticationFilter.TIMESTAMP_HEADER, Long.toString(timestamp))
+                        .header(GatewayAuthenticationFilter.SIGNATURE_HEADER,
+                                identitySigner.sign(null, SERVICE_NAME, INTERNAL_ROLE, timestamp))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(batch)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                log.warn("Dropped {} analytics events: {}", batch.size(), e.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void record(String type, Long contentId, Long userId) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("type", type);
+        event.put("contentId", contentId);
+        event.put("userId", userId);
+        event.put("timestamp", System.currentTimeMillis());
+        buffer.offer(event);
+    }
+}
@@ -0,0 +1,46 @@
+package com.cdn.content.client;
+
+import com.cdn.content.dto.OwnerSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class UserServiceClient {
+
+    private static final ParameterizedTypeReference<List<OwnerSummary>> PROFILE_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    public UserServiceClient(@Value("${services.user-service.url}") String baseUrl,
+                             @Value("${services.user-service.timeout-ms:300}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * Fetches profiles for all given user ids in a single request. Ids unknown to
+     * user-service are absent from the result.
+     */
+    public List<OwnerSummary> getProfiles(Collection<Long> userIds) {
+        List<OwnerSummary> profiles = restClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/users/profiles")
+                        .queryParam("ids", userIds)
+                        .build())
+                .retrieve()
+                .body(PROFILE_LIST);
+        return profiles != null ? profiles : List.of();
+    }
+}
@@ -0,0 +1,60 @@
+package com.cdn.content.config;
+
+import com.cdn.content.admission.AdmissionControlFilter;
+import com.cdn.content.admission.GradientConcurrencyLimiter;
+import com.cdn.content.admission.RequestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Always registered, with the switch read at runtime: an AOT build would freeze a bean condition.
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public GradientConcurrencyLimiter concurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${content.admission.initial-limit:50}") int initialLimit,
+            @Value("${content.admission.min-limit:10}") int minLimit,
+            @Value("${content.admission.max-limit:400}") int maxLimit,
+            @Value("${content.admission.smoothing:0.2}") double smoothing,
+            @Value("${content.admission.tolerance:1.5}") double tolerance,
+            @Value("${content.admission.long-window:600}") int longWindow,
+            @Value("${content.admission.shares.search:0.75}") double searchShare,
+            @Value("${content.admission.shares.upload:0.5}") double uploadShare) {
+
+        Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+        shares.put(RequestPriority.DOWNLOAD, RequestPriority.DOWNLOAD.getDefaultShare());
+        shares.put(RequestPriority.METADATA, RequestPriority.METADATA.getDefaultShare());
+        shares.put(RequestPriority.SEARCH, searchShare);
+        shares.put(RequestPriority.UPLOAD, uploadShare);
+
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, smoothing, tolerance, longWindow, shares);
+        Gauge.builder("content.admission.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("content.admission.inflight", limiter, GradientConcurrencyLimiter::getInflight)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    // Runs ahead of Spring Security so rejected requests cost as little as possible.
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            GradientConcurrencyLimiter limiter,
+            MeterRegistry meterRegistry,
+            @Value("${content.admission.enabled:true}") boolean enabled,
+            @Value("${content.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(limiter, enabled, retryAfterSeconds, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,44 @@
+package com.cdn.content.config;
+
+import com.cdn.content.cache.WarmableCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Content responses are cached per instance; ContentCacheInvalidator evicts changed
+ * items on every instance and ContentCacheWarmer preloads hot items before readiness.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String CONTENT_CACHE = "content";
+
+    @Bean
+    public CacheManager cacheManager(MeterRegistry meterRegistry,
+                                     @Value("${content.cache.ttl:3600}") long ttlSeconds,
+                                     @Value("${content.cache.max-size:50000}") long maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+                return new WarmableCache(super.adaptCaffeineCache(name, cache), meterRegistry);
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(CONTENT_CACHE));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,90 @@
+package com.cdn.content.config;
+
+import com.cdn.content.event.ContentCacheInvalidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class ContentEventStreamConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentEventStreamConfig.class);
+
+    @Value("${content.events.stream-key:content-events}")
+    private String streamKey;
+
+    // No consumer group: every instance caches independently, so each one must see every event.
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> contentEventListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            ContentCacheInvalidator cacheInvalidator,
+            MeterRegistry meterRegistry) {
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .batchSize(100)
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .build();
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+                StreamMessageListenerContainer.create(connectionFactory, options);
+
+        container.register(readRequest(startOffset(redisTemplate), meterRegistry), cacheInvalidator);
+        return container;
+    }
+
+    /**
+     * Keeps reading after errors: the default cancels on the first one, and a dead
+     * subscription leaves cached content stale until it expires. The poll resumes from the
+     * last event it delivered, so nothing still in the stream is missed.
+     */
+    StreamReadRequest<String> readRequest(ReadOffset offset, MeterRegistry meterRegistry) {
+        Counter errors = meterRegistry.counter("content.events.listener.errors");
+        return StreamReadRequest.builder(StreamOffset.create(streamKey, offset))
+                .cancelOnError(error -> false)
+                .errorHandler(error -> {
+                    errors.increment();
+                    log.warn("Reading content events failed, retrying: {}", error.getMessage());
+                })
+                .build();
+    }
+
+    /**
+     * Starts after the newest event present at startup. The cache is empty at that point,
+     * so older events cannot refer to anything cached here; starting from a concrete id
+     * rather than "$" means events arriving between polls are not skipped.
+     */
+    ReadOffset startOffset(StringRedisTemplate redisTemplate) {
+        try {
+            List<MapRecord<String, Object, Object>> newest =
+                    redisTemplate.opsForStream().reverseRange(streamKey, Range.unbounded(), Limit.limit().count(1));
+            if (newest != null && !newest.isEmpty()) {
+                return ReadOffset.from(newest.get(0).getId());
+            }
+        } catch (DataAccessException e) {
+            // Redis unavailable at startup: there is still nothing older worth replaying.
+            log.warn("Could not read the newest content event, starting from new events: {}", e.getMessage());
+            return ReadOffset.latest();
+        }
+        // Empty stream: every event that arrives later is new.
+        return ReadOffset.from("0-0");
+    }
+}
@@ -0,0 +1,46 @@
+package com.cdn.content.config;
+
+import com.cdn.content.security.GatewayAuthenticationFilter;
+import com.cdn.content.security.GatewayIdentityVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+
+@Configuration
+public class SecurityConfig {
+
+    public static final String ADMIN_ROLE = "ADMIN";
+    public static final String INTERNAL_ROLE = "INTERNAL";
+
+    // Authentication happens once at the API gateway; this service only trusts the
+    // identity headers it forwards, and only with the gateway's signature.
+    @Bean
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${gateway.identity.secret}") String identitySecret,
+            @Value("${gateway.identity.max-age-ms:300000}") long identityMaxAgeMillis) throws Exception {
+        GatewayIdentityVerifier identityVerifier = new GatewayIdentityVerifier(identitySecret, identityMaxAgeMillis);
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new GatewayAuthenticationFilter(identityVerifier), AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/**").permitAll()
+                        // The change stream includes private content of every owner
+                        .requestMatchers("/api/v1/content/events/**").hasAnyAuthority(ADMIN_ROLE, INTERNAL_ROLE)
+                        .requestMatchers(HttpMethod.GET, "/api/v1/content/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/content/*/download").permitAll()
+                        .anyRequest().authenticated());
+        return http.build();
+    }
+}
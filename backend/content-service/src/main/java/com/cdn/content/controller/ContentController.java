@@ -1,19 +1,30 @@
 package com.cdn.content.controller;
 
+import com.cdn.content.cache.ContentPrefetcher;
+import com.cdn.content.client.AnalyticsClient;
 import com.cdn.content.dto.ContentRequest;
 import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.dto.MetadataJson;
+import com.cdn.content.query.MetadataFilter;
+import com.cdn.content.query.MetadataFilterParser;
 import com.cdn.content.service.ContentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,9 +32,20 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ContentController {
 
+    static final int MAX_LIST_LIMIT = 100;
+
     @Autowired
     private ContentService contentService;
 
+    @Autowired
+    private AnalyticsClient analyticsClient;
+
+    @Autowired
+    private ContentPrefetcher contentPrefetcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/upload")
     public ResponseEntity<ContentResponse> uploadContent(
             @RequestParam("file") MultipartFile file,
@@ -32,7 +54,8 @@ public class ContentController {
             @RequestParam("contentType") String contentType,
             @RequestParam("userId") Long userId,
             @RequestParam(value = "tags", required = false) List<String> tags,
-            @RequestParam(value = "isPublic", defaultValue = "true") Boolean isPublic) {
+            @RequestParam(value = "isPublic", defaultValue = "true") Boolean isPublic,
+            @RequestParam(value = "metadata", required = false) String metadata) {
         
         ContentRequest request = new ContentRequest();
         request.setTitle(title);
@@ -41,14 +64,20 @@ public class ContentController {
         request.setUserId(userId);
         request.setTags(tags);
         request.setIsPublic(isPublic);
+        request.setMetadata(normalizeMetadata(metadata));
         
         ContentResponse response = contentService.uploadContent(file, request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ContentResponse> getContent(@PathVariable Long id) {
+    public ResponseEntity<ContentResponse> getContent(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-User-Id", required = false) Long viewerId) {
         ContentResponse response = contentService.getContentById(id);
+        contentService.recordView(id);
+        analyticsClient.recordView(id, viewerId);
+        contentPrefetcher.onAccess(response, viewerId);
         return ResponseEntity.ok(response);
     }
 
@@ -60,14 +89,40 @@ public class ContentController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String contentType,
             @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime uploadedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime uploadedBefore,
+            HttpServletRequest httpRequest) {
+        
+        // e.g. ?metadata.duration%3E60&metadata.codec=h264; raw < and > are also accepted
+        // (server.tomcat.relaxed-query-chars). Combines with contentType, userId and search.
+        List<MetadataFilter> metadataFilters;
+        try {
+            metadataFilters = MetadataFilterParser.parse(httpRequest.getQueryString());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
         
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? 
             Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         
+        // Upload-date windows browse public content only; with partitioning they read just the months they cover.
+        if (uploadedFrom != null || uploadedBefore != null) {
+            if (uploadedFrom == null || uploadedBefore == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "uploadedFrom and uploadedBefore must be given together");
+            }
+            if (contentType != null || userId != null || search != null || !metadataFilters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "An upload-date range cannot be combined with other filters");
+            }
+            return ResponseEntity.ok(contentService.getPublicContentUploadedBetween(
+                    uploadedFrom, uploadedBefore, pageable));
+        }
+        
         Page<ContentResponse> response = contentService.getAllContent(
-            pageable, contentType, userId, search);
+            pageable, contentType, userId, search, metadataFilters);
         return ResponseEntity.ok(response);
     }
 
@@ -86,8 +141,11 @@ public class ContentController {
     }
 
     @PostMapping("/{id}/download")
-    public ResponseEntity<String> downloadContent(@PathVariable Long id) {
+    public ResponseEntity<String> downloadContent(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
         String downloadUrl = contentService.generateDownloadUrl(id);
+        analyticsClient.recordDownload(id, userId);
         return ResponseEntity.ok(downloadUrl);
     }
 
@@ -105,14 +163,14 @@ public class ContentController {
     @GetMapping("/popular")
     public ResponseEntity<List<ContentResponse>> getPopularContent(
             @RequestParam(defaultValue = "10") int limit) {
-        List<ContentResponse> response = contentService.getPopularContent(limit);
+        List<ContentResponse> response = contentService.getPopularContent(clampLimit(limit));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/recent")
     public ResponseEntity<List<ContentResponse>> getRecentContent(
             @RequestParam(defaultValue = "10") int limit) {
-        List<ContentResponse> response = contentService.getRecentContent(limit);
+        List<ContentResponse> response = contentService.getRecentContent(clampLimit(limit));
         return ResponseEntity.ok(response);
     }
 
@@ -126,4 +184,18 @@ public class ContentController {
         Page<ContentResponse> response = contentService.getUserContent(userId, pageable);
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    // Internal callers such as the cache warmer may ask for more; API clients get at most MAX_LIST_LIMIT.
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIST_LIMIT));
+    }
+
+    // Form uploads carry metadata as a JSON string; held to the same rules as JSON updates.
+    private String normalizeMetadata(String metadata) {
+        try {
+            return MetadataJson.normalize(objectMapper, metadata);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.cdn.content.controller;
+
+import com.cdn.content.dto.ContentEventResponse;
+import com.cdn.content.service.ContentEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/content/events")
+@CrossOrigin(origins = "*")
+public class ContentEventController {
+
+    @Autowired
+    private ContentEventService contentEventService;
+
+    // Replays published change events in the order they were published, e.g. to rebuild a
+    // derived store or to catch up past what the Redis stream still retains. Page with the last
+    // position seen, not the eventId: ids are taken at insert and can commit out of order.
+    // Events show up here once the relay has published them, normally within a second.
+    @GetMapping
+    public ResponseEntity<List<ContentEventResponse>> replayEvents(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Long contentId,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<ContentEventResponse> response = contentEventService.replay(after, contentId, limit);
+        return ResponseEntity.ok(response);
+    }
+}
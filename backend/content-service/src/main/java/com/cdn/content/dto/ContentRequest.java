@@ -1,5 +1,6 @@
 package com.cdn.content.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -20,6 +21,7 @@ public class ContentRequest {
     
     private Boolean isPublic = true;
     private List<String> tags;
+    @JsonDeserialize(using = RawJsonDeserializer.class)
     private String metadata;
     
     // Constructors
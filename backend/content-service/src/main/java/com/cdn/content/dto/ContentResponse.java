@@ -1,5 +1,7 @@
 package com.cdn.content.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,9 +17,11 @@ public class ContentResponse {
     private LocalDateTime uploadDate;
     private LocalDateTime lastModified;
     private Long userId;
+    private OwnerSummary owner;
     private Long downloadCount;
     private Boolean isPublic;
     private List<String> tags;
+    @JsonRawValue
     private String metadata;
     private String downloadUrl;
     
@@ -105,6 +109,14 @@ public class ContentResponse {
         this.userId = userId;
     }
     
+    public OwnerSummary getOwner() {
+        return owner;
+    }
+    
+    public void setOwner(OwnerSummary owner) {
+        this.owner = owner;
+    }
+    
     public Long getDownloadCount() {
         return downloadCount;
     }
@@ -0,0 +1,39 @@
+package com.cdn.content.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Validation for the metadata JSON stored in the jsonb column, shared by the form
+ * upload and the JSON update so both accept exactly the same documents.
+ */
+public final class MetadataJson {
+
+    private MetadataJson() {}
+
+    /**
+     * Parses {@code json} and returns it re-serialized, or null when blank.
+     *
+     * @throws IllegalArgumentException if it is not a single JSON object
+     */
+    public static String normalize(ObjectCodec codec, String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try (JsonParser parser = codec.getFactory().createParser(json)) {
+            JsonNode node = codec.readTree(parser);
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("metadata must be a JSON object");
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("metadata must be a single JSON object");
+            }
+            return node.toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("metadata must be valid JSON");
+        }
+    }
+}
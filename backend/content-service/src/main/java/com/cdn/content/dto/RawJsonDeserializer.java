@@ -0,0 +1,29 @@
+package com.cdn.content.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Accepts metadata as a JSON object and keeps its text, so clients can send it as a
+ * real object. A JSON string is taken to be already-encoded JSON, as older clients send it.
+ * Either way it must hold an object; anything else fails binding, which answers 400.
+ */
+public class RawJsonDeserializer extends JsonDeserializer<String> {
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonNode node = parser.getCodec().readTree(parser);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        try {
+            return MetadataJson.normalize(parser.getCodec(), node.isTextual() ? node.asText() : node.toString());
+        } catch (IllegalArgumentException e) {
+            return context.reportInputMismatch(this, e.getMessage());
+        }
+    }
+}
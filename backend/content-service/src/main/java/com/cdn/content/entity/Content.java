@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -63,6 +65,7 @@ public class Content {
     @Column(name = "tag")
     private List<String> tags;
     
+    @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private String metadata;
     
@@ -188,8 +191,4 @@ public class Content {
     public void setMetadata(String metadata) {
         this.metadata = metadata;
     }
-    
-    public void incrementDownloadCount() {
-        this.downloadCount = (this.downloadCount == null) ? 1L : this.downloadCount + 1;
-    }
 } 
\ No newline at end of file
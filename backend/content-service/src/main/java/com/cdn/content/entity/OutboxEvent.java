@@ -0,0 +1,102 @@
+package com.cdn.content.entity;
+
+import com.cdn.content.event.ContentEventType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "content_outbox")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private ContentEventType eventType;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    // Assigned by the relay on publish; null until then
+    @Column(name = "replay_position", insertable = false, updatable = false)
+    private Long replayPosition;
+    
+    // Constructors
+    public OutboxEvent() {}
+    
+    public OutboxEvent(Long contentId, ContentEventType eventType, String payload) {
+        this.contentId = contentId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getContentId() {
+        return contentId;
+    }
+    
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+    
+    public ContentEventType getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(ContentEventType eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+    
+    public Long getReplayPosition() {
+        return replayPosition;
+    }
+    
+    public void setReplayPosition(Long replayPosition) {
+        this.replayPosition = replayPosition;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cdn.content.event;
+
+import com.cdn.content.config.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached content as soon as its change event arrives on the stream. Each instance
+ * reads the stream independently from the moment it started, since its cache starts empty.
+ */
+@Component
+public class ContentCacheInvalidator implements StreamListener<String, MapRecord<String, String, String>> {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+
+    public ContentCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> message) {
+        String type = message.getValue().get(OutboxRelay.FIELD_TYPE);
+        String contentId = message.getValue().get(OutboxRelay.FIELD_CONTENT_ID);
+
+        if (!ContentEventType.CREATED.name().equals(type) && contentId != null) {
+            Cache cache = cacheManager.getCache(CacheConfig.CONTENT_CACHE);
+            if (cache != null) {
+                cache.evict(Long.valueOf(contentId));
+            }
+            log.debug("Evicted content {} after {} event", contentId, type);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cdn.content.event;
+
+import com.cdn.content.entity.Content;
+import com.cdn.content.entity.OutboxEvent;
+import com.cdn.content.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes content change events to the outbox table inside the caller's transaction,
+ * so an event exists if and only if the change it describes was committed.
+ */
+@Component
+public class ContentEventRecorder {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ContentEventType type, Content content) {
+        outboxEventRepository.save(new OutboxEvent(content.getId(), type, toPayload(type, content)));
+
+        // Hand the event to the relay as soon as it is visible instead of waiting for the next poll.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.relayAsync();
+            }
+        });
+    }
+
+    private String toPayload(ContentEventType type, Content content) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("type", type.name());
+        payload.put("contentId", content.getId());
+        payload.put("userId", content.getUserId());
+        payload.put("occurredAt", LocalDateTime.now().toString());
+        if (type != ContentEventType.DELETED) {
+            payload.put("title", content.getTitle());
+            payload.put("contentType", content.getContentType());
+            payload.put("isPublic", content.getIsPublic());
+            payload.set("tags", objectMapper.valueToTree(content.getTags()));
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize content event", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.cdn.content.event;
+
+public enum ContentEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,153 @@
+package com.cdn.content.event;
+
+import com.cdn.content.entity.OutboxEvent;
+import com.cdn.content.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves committed outbox events to the content event stream in Redis. Each pass
+ * claims a batch under a cluster-wide advisory lock, pipelines the XADDs and marks
+ * the batch published in the same transaction, so delivery is at-least-once;
+ * consumers de-duplicate on {@code eventId}. Within a batch events go out in id order,
+ * but a transaction holding a lower id may commit, and be published, after higher ids.
+ */
+@Component
+public class OutboxRelay {
+
+    public static final String FIELD_EVENT_ID = "eventId";
+    public static final String FIELD_CONTENT_ID = "contentId";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_PAYLOAD = "payload";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long RELAY_LOCK_KEY = 0x636f6e74656e74L; // "content"
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final byte[] streamKey;
+    private final int batchSize;
+    private final long streamMaxLength;
+    private final int retentionDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Counter publishedEvents;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       StringRedisTemplate redisTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${content.events.stream-key:content-events}") String streamKey,
+                       @Value("${content.events.relay.batch-size:500}") int batchSize,
+                       @Value("${content.events.stream-max-length:1000000}") long streamMaxLength,
+                       @Value("${content.events.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.streamKey = streamKey.getBytes(StandardCharsets.UTF_8);
+        this.batchSize = batchSize;
+        this.streamMaxLength = streamMaxLength;
+        this.retentionDays = retentionDays;
+        this.publishedEvents = meterRegistry.counter("content.outbox.published");
+        this.batchTimer = Timer.builder("content.outbox.relay.batch")
+                .description("Time to publish one outbox batch to Redis")
+                .register(meterRegistry);
+    }
+
+    @Async
+    public void relayAsync() {
+        relay();
+    }
+
+    // Safety net for events whose after-commit trigger was lost, e.g. on a crash or lock contention.
+    @Scheduled(fixedDelayString = "${content.events.relay.interval-ms:1000}")
+    public void relay() {
+        pending.set(true);
+        // Coalesce concurrent triggers: whoever holds the flag keeps draining until nothing is pending.
+        while (pending.get() && running.compareAndSet(false, true)) {
+            try {
+                pending.set(false);
+                int published;
+                do {
+                    published = relayBatch();
+                } while (published == batchSize);
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay pass failed, will retry: {}", e.getMessage());
+                return;
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${content.events.cleanup-cron:0 15 3 * * *}")
+    public void purgePublished() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.debug("Purged {} published outbox events", purged);
+    }
+
+    private int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryAcquireRelayLock(RELAY_LOCK_KEY)) {
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.findUnpublished(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            batchTimer.record(() -> publish(batch));
+            outboxEventRepository.markPublished(
+                    batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+                    LocalDateTime.now());
+            return batch.size();
+        });
+        int count = published != null ? published : 0;
+        publishedEvents.increment(count);
+        return count;
+    }
+
+    private void publish(List<OutboxEvent> batch) {
+        XAddOptions options = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OutboxEvent event : batch) {
+                Map<byte[], byte[]> fields = new HashMap<>();
+                fields.put(bytes(FIELD_EVENT_ID), bytes(event.getId().toString()));
+                fields.put(bytes(FIELD_CONTENT_ID), bytes(event.getContentId().toString()));
+                fields.put(bytes(FIELD_TYPE), bytes(event.getEventType().name()));
+                fields.put(bytes(FIELD_PAYLOAD), bytes(event.getPayload()));
+                ByteRecord record = StreamRecords.rawBytes(fields).withStreamKey(streamKey);
+                connection.streamCommands().xAdd(record, options);
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cdn.content.maintenance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly content partitions created ahead of time so inserts never fall into
+ * the default partition (which would block creating that month's partition later).
+ */
+@Component
+public class ContentPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentPartitionMaintainer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+
+    public ContentPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                      @Value("${content.partitioning.enabled:false}") boolean enabled,
+                                      @Value("${content.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${content.partitioning.cron:0 0 2 * * *}")
+    public void ensurePartitions() {
+        if (!enabled) {
+            return;
+        }
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_content_partitions(current_date, ?)", Integer.class, monthsAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} content partitions", created);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.cdn.content.query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One condition on the content metadata document, e.g. {@code duration > 60} or
+ * {@code video.codec = h264}. Path segments are validated identifiers, so they are
+ * safe to inline into SQL, which is what lets the planner match expression indexes.
+ */
+public class MetadataFilter {
+
+    public enum Operator {
+        EQ("="), NE("!="), GT(">"), GTE(">="), LT("<"), LTE("<=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public boolean isRange() {
+            return this != EQ && this != NE;
+        }
+    }
+
+    private final List<String> path;
+    private final Operator operator;
+    private final String value;
+
+    public MetadataFilter(List<String> path, Operator operator, String value) {
+        this.path = List.copyOf(path);
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public List<String> getPath() {
+        return path;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public BigDecimal numericValue() {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,75 @@
+package com.cdn.content.query;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts {@code metadata.*} conditions from a raw query string. Comparison
+ * operators other than '=' do not survive normal parameter parsing
+ * ({@code metadata.duration>60} arrives as a name with no value), so clauses are
+ * read from the query string directly.
+ */
+public final class MetadataFilterParser {
+
+    public static final int MAX_FILTERS = 10;
+
+    private static final String PREFIX = "metadata.";
+    private static final Pattern CLAUSE = Pattern.compile(
+            "metadata\\.([A-Za-z0-9_]+(?:\\.[A-Za-z0-9_]+){0,4})\\s*(!=|>=|<=|=|>|<)\\s*(.+)");
+
+    private MetadataFilterParser() {}
+
+    public static List<MetadataFilter> parse(String queryString) {
+        List<MetadataFilter> filters = new ArrayList<>();
+        if (queryString == null || queryString.isEmpty()) {
+            return filters;
+        }
+
+        for (String clause : queryString.split("&")) {
+            String decoded = URLDecoder.decode(clause, StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                continue;
+            }
+            Matcher matcher = CLAUSE.matcher(decoded);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid metadata filter: " + decoded);
+            }
+            MetadataFilter filter = new MetadataFilter(
+                    Arrays.asList(matcher.group(1).split("\\.")),
+                    operatorOf(matcher.group(2)),
+                    matcher.group(3).trim());
+            if (filter.getOperator().isRange()) {
+                requireNumber(filter.getValue(), decoded);
+            }
+            filters.add(filter);
+        }
+
+        if (filters.size() > MAX_FILTERS) {
+            throw new IllegalArgumentException("At most " + MAX_FILTERS + " metadata filters are allowed");
+        }
+        return filters;
+    }
+
+    private static MetadataFilter.Operator operatorOf(String symbol) {
+        for (MetadataFilter.Operator operator : MetadataFilter.Operator.values()) {
+            if (operator.getSymbol().equals(symbol)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operator: " + symbol);
+    }
+
+    private static void requireNumber(String value, String clause) {
+        try {
+            new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Range filters need a numeric value: " + clause);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cdn.content.repository;
+
+import com.cdn.content.entity.Content;
+import com.cdn.content.query.MetadataFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ContentMetadataRepository {
+    
+    Page<Content> findByMetadata(List<MetadataFilter> filters, String contentType, Long userId, String search,
+                                 Pageable pageable);
+}
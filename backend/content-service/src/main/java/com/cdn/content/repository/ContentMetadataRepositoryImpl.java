@@ -0,0 +1,164 @@
+package com.cdn.content.repository;
+
+import com.cdn.content.entity.Content;
+import com.cdn.content.query.MetadataFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates metadata filters into SQL the jsonb indexes can serve. All equality
+ * conditions are folded into one {@code metadata @> doc} containment check (GIN,
+ * jsonb_path_ops); numeric ranges compare {@code metadata_number(...)}, the same
+ * expression the per-key btree indexes are built on (see V3 migration).
+ */
+public class ContentMetadataRepositoryImpl implements ContentMetadataRepository {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "uploadDate", "upload_date",
+            "lastModified", "last_modified",
+            "downloadCount", "download_count",
+            "title", "title",
+            "fileSize", "file_size",
+            "id", "id");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public Page<Content> findByMetadata(List<MetadataFilter> filters, String contentType,
+                                        Long userId, String search, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(filters, contentType, userId, search, parameters);
+
+        Query select = entityManager.createNativeQuery(
+                "SELECT c.* FROM content c WHERE " + where + orderBy(pageable.getSort()), Content.class);
+        Query count = entityManager.createNativeQuery("SELECT count(*) FROM content c WHERE " + where);
+        parameters.forEach((name, value) -> {
+            select.setParameter(name, value);
+            count.setParameter(name, value);
+        });
+
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+
+        @SuppressWarnings("unchecked")
+        List<Content> content = select.getResultList();
+        long total = ((Number) count.getSingleResult()).longValue();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private String whereClause(List<MetadataFilter> filters, String contentType, Long userId, String search,
+                               Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (userId != null) {
+            conditions.add("c.user_id = :userId");
+            parameters.put("userId", userId);
+        } else {
+            conditions.add("c.is_public = true");
+        }
+        if (contentType != null) {
+            conditions.add("c.content_type = :contentType");
+            parameters.put("contentType", contentType);
+        }
+        if (search != null && !search.isEmpty()) {
+            // UPPER to match the trigram indexes on title and description
+            conditions.add("(UPPER(c.title) LIKE :search OR UPPER(c.description) LIKE :search)");
+            parameters.put("search", "%" + escapeLike(search.toUpperCase()) + "%");
+        }
+
+        ObjectNode contains = objectMapper.createObjectNode();
+        int index = 0;
+        for (MetadataFilter filter : filters) {
+            String parameter = "m" + index++;
+            switch (filter.getOperator()) {
+                case EQ -> put(contains, filter);
+                case NE -> {
+                    ObjectNode excluded = objectMapper.createObjectNode();
+                    put(excluded, filter);
+                    conditions.add("NOT (c.metadata @> CAST(:" + parameter + " AS jsonb))");
+                    parameters.put(parameter, toJson(excluded));
+                }
+                default -> {
+                    conditions.add(numberExpression(filter.getPath()) + " "
+                            + filter.getOperator().getSymbol() + " :" + parameter);
+                    parameters.put(parameter, filter.numericValue());
+                }
+            }
+        }
+        if (!contains.isEmpty()) {
+            conditions.add("c.metadata @> CAST(:contains AS jsonb)");
+            parameters.put("contains", toJson(contains));
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    // Path segments are validated identifiers (see MetadataFilterParser), so inlining them is safe.
+    private String numberExpression(List<String> path) {
+        String key = path.get(path.size() - 1);
+        if (path.size() == 1) {
+            return "metadata_number(c.metadata, '" + key + "')";
+        }
+        String parent = String.join(",", path.subList(0, path.size() - 1));
+        return "metadata_number(c.metadata #> '{" + parent + "}', '" + key + "')";
+    }
+
+    private void put(ObjectNode document, MetadataFilter filter) {
+        ObjectNode node = document;
+        List<String> path = filter.getPath();
+        for (String segment : path.subList(0, path.size() - 1)) {
+            node = node.has(segment) && node.get(segment).isObject()
+                    ? (ObjectNode) node.get(segment)
+                    : node.putObject(segment);
+        }
+        String key = path.get(path.size() - 1);
+        String value = filter.getValue();
+        if ("true".equals(value) || "false".equals(value)) {
+            node.put(key, Boolean.parseBoolean(value));
+        } else if (value.matches("-?\\d+(\\.\\d+)?")) {
+            node.put(key, filter.numericValue());
+        } else {
+            node.put(key, value);
+        }
+    }
+
+    private String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                orders.add("c." + column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        orders.add("c.id DESC");
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private String toJson(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize metadata filter", e);
+        }
+    }
+}
@@ -3,17 +3,41 @@ package com.cdn.content.repository;
 import com.cdn.content.entity.Content;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ContentRepository extends JpaRepository<Content, Long> {
+public interface ContentRepository extends JpaRepository<Content, Long>, ContentMetadataRepository {
     
     Page<Content> findByIsPublicTrue(Pageable pageable);
     
+    // Half-open range so consecutive windows, such as calendar months, neither overlap nor leave gaps.
+    // With the partitioned profile only the partitions overlapping [from, to) are read.
+    @Query("SELECT c FROM Content c WHERE c.isPublic = true AND c.uploadDate >= :from AND c.uploadDate < :to")
+    Page<Content> findPublicUploadedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                            Pageable pageable);
+    
+    // Row lock for writes that also record an outbox event: concurrent changes to one item
+    // commit, and get their outbox ids, in the order they were made.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Content c WHERE c.id = :id")
+    Optional<Content> findByIdForUpdate(@Param("id") Long id);
+    
+    // Single UPDATE so concurrent views are not lost to read-modify-write races
+    @Modifying
+    @Query("UPDATE Content c SET c.downloadCount = COALESCE(c.downloadCount, 0) + 1 WHERE c.id = :id")
+    int incrementDownloadCount(@Param("id") Long id);
+    
     Page<Content> findByUserId(Long userId, Pageable pageable);
     
     Page<Content> findByContentType(String contentType, Pageable pageable);
@@ -23,12 +47,22 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
     Page<Content> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
             String title, String description, Pageable pageable);
     
-    List<Content> findTopByOrderByDownloadCountDesc();
+    // Limit comes from the Pageable so it is applied in SQL, not after loading the table.
+    List<Content> findByOrderByDownloadCountDesc(Pageable pageable);
     
-    List<Content> findTopByOrderByUploadDateDesc();
+    List<Content> findByOrderByUploadDateDesc(Pageable pageable);
     
+    // UPPER to match the trigram indexes used by the derived ...ContainingIgnoreCase queries
     @Query("SELECT c FROM Content c WHERE c.isPublic = true AND " +
-           "(LOWER(c.title) LIKE LOWER(CONCAT('%', ?1, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', ?1, '%')))")
+           "(UPPER(c.title) LIKE UPPER(CONCAT('%', ?1, '%')) OR " +
+           "UPPER(c.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
     Page<Content> searchPublicContent(String query, Pageable pageable);
+    
+    // Content sharing the most tags with ?1, most downloaded first; candidates for cache prefetching
+    @Query("SELECT c.id FROM Content c JOIN c.tags t WHERE t IN ?2 AND c.id <> ?1 " +
+           "GROUP BY c.id, c.downloadCount ORDER BY COUNT(t) DESC, c.downloadCount DESC")
+    List<Long> findIdsSharingTags(Long id, Collection<String> tags, Pageable pageable);
+    
+    @Query(value = "SELECT id FROM content WHERE metadata @> CAST(?1 AS jsonb) LIMIT ?2", nativeQuery = true)
+    List<Long> findIdsByMetadataContaining(String metadataJson, int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.cdn.content.repository;
+
+import com.cdn.content.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Held until the surrounding transaction ends, so only one instance relays at a time
+    // and replay positions are handed out in the order relay batches commit.
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAcquireRelayLock(@Param("lockKey") long lockKey);
+    
+    @Query(value = "SELECT * FROM content_outbox WHERE published_at IS NULL ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<OutboxEvent> findUnpublished(@Param("limit") int limit);
+    
+    // Also hands out replay positions, in id order within the batch. Runs under the relay
+    // lock, so positions grow in the order batches commit.
+    @Modifying
+    @Query(value = "UPDATE content_outbox o SET published_at = :publishedAt, replay_position = p.replay_position "
+            + "FROM (SELECT id, nextval('content_outbox_replay_position_seq') AS replay_position "
+            + "FROM (SELECT id FROM content_outbox WHERE id IN (:ids) ORDER BY id) ordered) p "
+            + "WHERE o.id = p.id",
+           nativeQuery = true)
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+    
+    List<OutboxEvent> findByReplayPositionGreaterThanOrderByReplayPositionAsc(Long position, Pageable pageable);
+    
+    List<OutboxEvent> findByContentIdAndReplayPositionGreaterThanOrderByReplayPositionAsc(
+            Long contentId, Long position, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,105 @@
+package com.cdn.content.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the security context from the identity headers set by the API gateway,
+ * which has already verified the caller's JWT. No token parsing happens here, but the
+ * headers are only trusted with a valid gateway signature; otherwise they are removed
+ * from the request so controllers cannot read a forged identity either.
+ */
+public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String TIMESTAMP_HEADER = "X-User-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-User-Signature";
+
+    private static final Set<String> IDENTITY_HEADERS = Set.of(
+            USER_ID_HEADER.toLowerCase(), USER_NAME_HEADER.toLowerCase(), USER_ROLES_HEADER.toLowerCase(),
+            TIMESTAMP_HEADER.toLowerCase(), SIGNATURE_HEADER.toLowerCase());
+
+    private final GatewayIdentityVerifier identityVerifier;
+
+    public GatewayAuthenticationFilter(GatewayIdentityVerifier identityVerifier) {
+        this.identityVerifier = identityVerifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String userId = request.getHeader(USER_ID_HEADER);
+        String username = request.getHeader(USER_NAME_HEADER);
+        String roles = request.getHeader(USER_ROLES_HEADER);
+        String principal = userId != null && !userId.isBlank() ? userId : username;
+
+        if (principal == null || principal.isBlank()) {
+            filterChain.doFilter(withoutIdentityHeaders(request), response);
+            return;
+        }
+        if (!identityVerifier.isValid(userId, username, roles,
+                request.getHeader(TIMESTAMP_HEADER), request.getHeader(SIGNATURE_HEADER))) {
+            filterChain.doFilter(withoutIdentityHeaders(request), response);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, authoritiesOf(roles));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, response);
+    }
+
+    private List<GrantedAuthority> authoritiesOf(String roles) {
+        if (roles == null || roles.isBlank()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    private static HttpServletRequest withoutIdentityHeaders(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public String getHeader(String name) {
+                return isIdentityHeader(name) ? null : super.getHeader(name);
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return isIdentityHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+            }
+
+            @Override
+            public Enumeration<String> getHeaderNames() {
+                return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                        .filter(name -> !isIdentityHeader(name))
+                        .collect(Collectors.toList()));
+            }
+        };
+    }
+
+    private static boolean isIdentityHeader(String name) {
+        return name != null && IDENTITY_HEADERS.contains(name.toLowerCase());
+    }
+}
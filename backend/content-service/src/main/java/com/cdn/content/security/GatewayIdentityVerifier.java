@@ -0,0 +1,60 @@
+package com.cdn.content.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the HMAC the API gateway puts on forwarded identity headers. The signature covers
+ * user id, name, roles and a timestamp; signatures older than the allowed age are refused
+ * so a captured set of headers cannot be replayed indefinitely.
+ */
+public class GatewayIdentityVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long maxAgeMillis;
+
+    public GatewayIdentityVerifier(String secret, long maxAgeMillis) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public boolean isValid(String userId, String username, String roles, String timestamp, String signature) {
+        if (timestamp == null || signature == null) {
+            return false;
+        }
+        long signedAt;
+        try {
+            signedAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - signedAt) > maxAgeMillis) {
+            return false;
+        }
+        byte[] expected = sign(userId, username, roles, signedAt).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String sign(String userId, String username, String roles, long timestampMillis) {
+        String payload = String.join("\n",
+                nullToEmpty(userId), nullToEmpty(username), nullToEmpty(roles), Long.toString(timestampMillis));
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
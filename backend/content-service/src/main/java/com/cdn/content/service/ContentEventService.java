@@ -0,0 +1,10 @@
+package com.cdn.content.service;
+
+import com.cdn.content.dto.ContentEventResponse;
+
+import java.util.List;
+
+public interface ContentEventService {
+    
+    List<ContentEventResponse> replay(Long afterPosition, Long contentId, int limit);
+}
@@ -2,10 +2,13 @@ package com.cdn.content.service;
 
 import com.cdn.content.dto.ContentRequest;
 import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.query.MetadataFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ContentService {
@@ -14,7 +17,14 @@ public interface ContentService {
     
     ContentResponse getContentById(Long id);
     
-    Page<ContentResponse> getAllContent(Pageable pageable, String contentType, Long userId, String search);
+    // Counts a view; kept out of getContentById so it also happens on cache hits
+    void recordView(Long id);
+    
+    Page<ContentResponse> getAllContent(Pageable pageable, String contentType, Long userId, String search,
+                                       List<MetadataFilter> metadataFilters);
+    
+    // Public content uploaded in [from, to)
+    Page<ContentResponse> getPublicContentUploadedBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
     
     ContentResponse updateContent(Long id, ContentRequest request);
     
@@ -29,4 +39,7 @@ public interface ContentService {
     List<ContentResponse> getRecentContent(int limit);
     
     Page<ContentResponse> getUserContent(Long userId, Pageable pageable);
+    
+    // Side-effect free bulk load (no download count increment), used to fill the cache ahead of requests
+    List<ContentResponse> getContentByIds(Collection<Long> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.cdn.content.service;
+
+import com.cdn.content.client.UserServiceClient;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.dto.OwnerSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attaches owner display data to content responses. All owners missing from the
+ * local cache are resolved with one batched call to user-service per invocation;
+ * if that call fails or times out the responses are returned with just their userId,
+ * and lookups pause for the failure backoff so an outage does not cost every request
+ * the full client timeout.
+ */
+@Component
+public class OwnerLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerLoader.class);
+    private static final int MAX_BATCH_SIZE = 200;
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<Long, OwnerSummary> owners;
+    private final Counter batchCalls;
+    private final Counter fallbacks;
+    private final long failureBackoffNanos;
+    private volatile Long lastFailureNanos;
+
+    public OwnerLoader(UserServiceClient userServiceClient,
+                       MeterRegistry meterRegistry,
+                       @Value("${content.owner-cache.ttl:60}") long ttlSeconds,
+                       @Value("${content.owner-cache.max-size:10000}") long maxSize,
+                       @Value("${content.owner-cache.failure-backoff-ms:5000}") long failureBackoffMillis) {
+        this.userServiceClient = userServiceClient;
+        this.failureBackoffNanos = Duration.ofMillis(failureBackoffMillis).toNanos();
+        this.owners = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.batchCalls = meterRegistry.counter("content.owner.lookup.calls");
+        this.fallbacks = meterRegistry.counter("content.owner.lookup.fallbacks");
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, "owners");
+    }
+
+    public void enrich(Collection<ContentResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (ContentResponse response : responses) {
+            if (response.getUserId() != null) {
+                userIds.add(response.getUserId());
+            }
+        }
+
+        Map<Long, OwnerSummary> resolved = new HashMap<>(owners.getAllPresent(userIds));
+        userIds.removeAll(resolved.keySet());
+        if (!userIds.isEmpty()) {
+            resolved.putAll(fetch(userIds));
+        }
+
+        for (ContentResponse response : responses) {
+            response.setOwner(resolved.get(response.getUserId()));
+        }
+    }
+
+    private Map<Long, OwnerSummary> fetch(Set<Long> userIds) {
+        if (userIds.size() <= MAX_BATCH_SIZE) {
+            return fetchBatch(userIds);
+        }
+        // user-service caps /profiles at 200 ids; larger sets (big pages, bulk loads) go in several calls.
+        Map<Long, OwnerSummary> fetched = new HashMap<>();
+        Set<Long> batch = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            batch.add(userId);
+            if (batch.size() == MAX_BATCH_SIZE) {
+                fetched.putAll(fetchBatch(batch));
+                batch = new LinkedHashSet<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            fetched.putAll(fetchBatch(batch));
+        }
+        return fetched;
+    }
+
+    private Map<Long, OwnerSummary> fetchBatch(Set<Long> userIds) {
+        Long failedAt = lastFailureNanos;
+        if (failedAt != null && System.nanoTime() - failedAt < failureBackoffNanos) {
+            fallbacks.increment();
+            return Map.of();
+        }
+        batchCalls.increment();
+        try {
+            Map<Long, OwnerSummary> fetched = new HashMap<>();
+            for (OwnerSummary owner : userServiceClient.getProfiles(userIds)) {
+                fetched.put(owner.getId(), owner);
+            }
+            // Remember unknown owners too, so deleted accounts do not cause a lookup on every page.
+            for (Long userId : userIds) {
+                OwnerSummary owner = fetched.computeIfAbsent(userId, this::placeholder);
+                owners.put(userId, owner);
+            }
+            return fetched;
+        } catch (RestClientException e) {
+            lastFailureNanos = System.nanoTime();
+            fallbacks.increment();
+            log.warn("Owner lookup for {} users failed, serving without owner data: {}",
+                    userIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private OwnerSummary placeholder(Long userId) {
+        OwnerSummary owner = new OwnerSummary();
+        owner.setId(userId);
+        return owner;
+    }
+}
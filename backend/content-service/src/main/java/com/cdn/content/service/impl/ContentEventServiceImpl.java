@@ -0,0 +1,51 @@
+package com.cdn.content.service.impl;
+
+import com.cdn.content.dto.ContentEventResponse;
+import com.cdn.content.entity.OutboxEvent;
+import com.cdn.content.repository.OutboxEventRepository;
+import com.cdn.content.service.ContentEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class ContentEventServiceImpl implements ContentEventService {
+
+    private static final int MAX_REPLAY_BATCH = 1000;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Override
+    public List<ContentEventResponse> replay(Long afterPosition, Long contentId, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_REPLAY_BATCH)));
+        long after = afterPosition != null ? afterPosition : 0L;
+
+        List<OutboxEvent> events = contentId != null
+                ? outboxEventRepository.findByContentIdAndReplayPositionGreaterThanOrderByReplayPositionAsc(
+                        contentId, after, pageable)
+                : outboxEventRepository.findByReplayPositionGreaterThanOrderByReplayPositionAsc(after, pageable);
+
+        return events.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private ContentEventResponse convertToResponse(OutboxEvent event) {
+        ContentEventResponse response = new ContentEventResponse();
+        response.setEventId(event.getId());
+        response.setPosition(event.getReplayPosition());
+        response.setContentId(event.getContentId());
+        response.setType(event.getEventType().name());
+        response.setPayload(event.getPayload());
+        response.setCreatedAt(event.getCreatedAt());
+        response.setPublishedAt(event.getPublishedAt());
+        return response;
+    }
+}
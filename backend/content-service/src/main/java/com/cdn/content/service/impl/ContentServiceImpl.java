@@ -3,29 +3,49 @@ package com.cdn.content.service.impl;
 import com.cdn.content.dto.ContentRequest;
 import com.cdn.content.dto.ContentResponse;
 import com.cdn.content.entity.Content;
+import com.cdn.content.event.ContentEventRecorder;
+import com.cdn.content.event.ContentEventType;
+import com.cdn.content.query.MetadataFilter;
 import com.cdn.content.repository.ContentRepository;
 import com.cdn.content.service.ContentService;
+import com.cdn.content.service.OwnerLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+// Reads convert entities inside a short read-only transaction and attach owners after it:
+// owner enrichment calls user-service, and must not hold a pooled connection while it waits.
 @Service
-@Transactional
 public class ContentServiceImpl implements ContentService {
 
     @Autowired
     private ContentRepository contentRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OwnerLoader ownerLoader;
+
+    @Autowired
+    private ContentEventRecorder contentEventRecorder;
+
     @Override
+    @Transactional
     public ContentResponse uploadContent(MultipartFile file, ContentRequest request) {
         Content content = new Content();
         content.setTitle(request.getTitle());
@@ -47,50 +67,62 @@ public class ContentServiceImpl implements ContentService {
         content.setLastModified(LocalDateTime.now());
         
         Content saved = contentRepository.save(content);
+        contentEventRecorder.record(ContentEventType.CREATED, saved);
         return convertToResponse(saved);
     }
 
     @Override
     @Cacheable(value = "content", key = "#id")
     public ContentResponse getContentById(Long id) {
-        Content content = contentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
-        
-        // Increment download count
-        content.incrementDownloadCount();
-        contentRepository.save(content);
-        
-        return convertToResponse(content);
+        ContentResponse response = readOnly(() -> contentRepository.findById(id)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> new RuntimeException("Content not found with id: " + id)));
+        ownerLoader.enrich(List.of(response));
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void recordView(Long id) {
+        contentRepository.incrementDownloadCount(id);
     }
 
     @Override
     public Page<ContentResponse> getAllContent(Pageable pageable, String contentType, 
-                                             Long userId, String search) {
-        Page<Content> contentPage;
-        
-        if (search != null && !search.isEmpty()) {
-            contentPage = contentRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                    search, search, pageable);
-        } else if (contentType != null && userId != null) {
-            contentPage = contentRepository.findByContentTypeAndUserId(contentType, userId, pageable);
-        } else if (contentType != null) {
-            contentPage = contentRepository.findByContentType(contentType, pageable);
-        } else if (userId != null) {
-            contentPage = contentRepository.findByUserId(userId, pageable);
-        } else {
-            contentPage = contentRepository.findByIsPublicTrue(pageable);
-        }
-        
-        List<ContentResponse> responses = contentPage.getContent().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(responses, pageable, contentPage.getTotalElements());
+                                             Long userId, String search,
+                                             List<MetadataFilter> metadataFilters) {
+        return enriched(readOnly(() -> {
+            Page<Content> contentPage;
+            
+            if (!metadataFilters.isEmpty()) {
+                contentPage = contentRepository.findByMetadata(metadataFilters, contentType, userId, search, pageable);
+            } else if (search != null && !search.isEmpty()) {
+                contentPage = contentRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                        search, search, pageable);
+            } else if (contentType != null && userId != null) {
+                contentPage = contentRepository.findByContentTypeAndUserId(contentType, userId, pageable);
+            } else if (contentType != null) {
+                contentPage = contentRepository.findByContentType(contentType, pageable);
+            } else if (userId != null) {
+                contentPage = contentRepository.findByUserId(userId, pageable);
+            } else {
+                contentPage = contentRepository.findByIsPublicTrue(pageable);
+            }
+            return toResponses(contentPage, pageable);
+        }));
+    }
+
+    @Override
+    public Page<ContentResponse> getPublicContentUploadedBetween(LocalDateTime from, LocalDateTime to,
+                                                                 Pageable pageable) {
+        return enriched(readOnly(() -> toResponses(
+                contentRepository.findPublicUploadedBetween(from, to, pageable), pageable)));
     }
 
     @Override
+    @Transactional
     public ContentResponse updateContent(Long id, ContentRequest request) {
-        Content content = contentRepository.findById(id)
+        Content content = contentRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
         
         content.setTitle(request.getTitle());
@@ -101,18 +133,24 @@ public class ContentServiceImpl implements ContentService {
         content.setMetadata(request.getMetadata());
         content.setLastModified(LocalDateTime.now());
         
-        Content updated = contentRepository.save(content);
+        // Flush the UPDATE before the outbox INSERT so the event never precedes the change.
+        Content updated = contentRepository.saveAndFlush(content);
+        contentEventRecorder.record(ContentEventType.UPDATED, updated);
         return convertToResponse(updated);
     }
 
     @Override
+    @Transactional
     public void deleteContent(Long id) {
-        Content content = contentRepository.findById(id)
+        Content content = contentRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
         contentRepository.delete(content);
+        contentRepository.flush();
+        contentEventRecorder.record(ContentEventType.DELETED, content);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public String generateDownloadUrl(Long id) {
         Content content = contentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
@@ -123,45 +161,58 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     public Page<ContentResponse> searchContent(String query, Pageable pageable) {
-        Page<Content> contentPage = contentRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                query, query, pageable);
-        
-        List<ContentResponse> responses = contentPage.getContent().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(responses, pageable, contentPage.getTotalElements());
+        return enriched(readOnly(() -> toResponses(
+                contentRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                        query, query, pageable),
+                pageable)));
     }
 
     @Override
     public List<ContentResponse> getPopularContent(int limit) {
-        List<Content> popularContent = contentRepository.findTopByOrderByDownloadCountDesc()
-                .stream().limit(limit).collect(Collectors.toList());
-        
-        return popularContent.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return enriched(readOnly(() -> toResponses(contentRepository.findByOrderByDownloadCountDesc(
+                PageRequest.of(0, Math.max(1, limit))))));
     }
 
     @Override
     public List<ContentResponse> getRecentContent(int limit) {
-        List<Content> recentContent = contentRepository.findTopByOrderByUploadDateDesc()
-                .stream().limit(limit).collect(Collectors.toList());
-        
-        return recentContent.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return enriched(readOnly(() -> toResponses(contentRepository.findByOrderByUploadDateDesc(
+                PageRequest.of(0, Math.max(1, limit))))));
     }
 
     @Override
     public Page<ContentResponse> getUserContent(Long userId, Pageable pageable) {
-        Page<Content> contentPage = contentRepository.findByUserId(userId, pageable);
-        
-        List<ContentResponse> responses = contentPage.getContent().stream()
+        return enriched(readOnly(() -> toResponses(contentRepository.findByUserId(userId, pageable), pageable)));
+    }
+
+    @Override
+    public List<ContentResponse> getContentByIds(Collection<Long> ids) {
+        return enriched(readOnly(() -> toResponses(contentRepository.findAllById(ids))));
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> query.get());
+    }
+
+    private List<ContentResponse> enriched(List<ContentResponse> responses) {
+        ownerLoader.enrich(responses);
+        return responses;
+    }
+
+    private Page<ContentResponse> enriched(Page<ContentResponse> responses) {
+        ownerLoader.enrich(responses.getContent());
+        return responses;
+    }
+
+    private Page<ContentResponse> toResponses(Page<Content> contentPage, Pageable pageable) {
+        return new PageImpl<>(toResponses(contentPage.getContent()), pageable, contentPage.getTotalElements());
+    }
+
+    private List<ContentResponse> toResponses(List<Content> contents) {
+        return contents.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
-        
-        return new PageImpl<>(responses, pageable, contentPage.getTotalElements());
     }
 
     private ContentResponse convertToResponse(Content content) {
@@ -0,0 +1,23 @@
+-- Baseline for databases created before migrations were introduced.
+CREATE TABLE IF NOT EXISTS content (
+    id             BIGSERIAL PRIMARY KEY,
+    title          VARCHAR(255) NOT NULL,
+    description    TEXT,
+    content_type   VARCHAR(255) NOT NULL,
+    file_path      VARCHAR(255),
+    file_size      BIGINT,
+    mime_type      VARCHAR(255),
+    upload_date    TIMESTAMP,
+    last_modified  TIMESTAMP,
+    user_id        BIGINT NOT NULL,
+    download_count BIGINT DEFAULT 0,
+    is_public      BOOLEAN DEFAULT TRUE,
+    metadata       JSONB
+);
+
+CREATE TABLE IF NOT EXISTS content_tags (
+    content_id BIGINT NOT NULL REFERENCES content (id) ON DELETE CASCADE,
+    tag        VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_content_tags_content_id ON content_tags (content_id);
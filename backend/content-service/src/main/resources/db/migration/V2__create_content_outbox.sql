@@ -0,0 +1,15 @@
+-- Change events written in the same transaction as the content row they describe.
+CREATE TABLE content_outbox (
+    id           BIGSERIAL PRIMARY KEY,
+    content_id   BIGINT       NOT NULL,
+    event_type   VARCHAR(32)  NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMP    NOT NULL,
+    published_at TIMESTAMP
+);
+
+-- The relay only ever scans unpublished rows in id order.
+CREATE INDEX idx_content_outbox_unpublished ON content_outbox (id) WHERE published_at IS NULL;
+
+-- Per-content replay.
+CREATE INDEX idx_content_outbox_content_id ON content_outbox (content_id, id);
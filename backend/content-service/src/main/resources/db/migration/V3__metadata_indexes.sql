@@ -0,0 +1,27 @@
+-- Numeric value at a key, or NULL when it is missing or not a number, so range filters
+-- never fail on heterogeneous documents. IMMUTABLE so it can back expression indexes.
+CREATE OR REPLACE FUNCTION metadata_number(doc jsonb, key text)
+    RETURNS numeric
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS $$
+    SELECT CASE WHEN jsonb_typeof(doc -> key) = 'number' THEN (doc ->> key)::numeric END
+$$;
+
+-- Serves every equality filter via containment (metadata @> '{"codec":"h264"}').
+CREATE INDEX IF NOT EXISTS idx_content_metadata
+    ON content USING GIN (metadata jsonb_path_ops);
+
+-- Range filters on the keys clients filter on most.
+CREATE INDEX IF NOT EXISTS idx_content_metadata_duration
+    ON content (metadata_number(metadata, 'duration'));
+
+CREATE INDEX IF NOT EXISTS idx_content_metadata_width
+    ON content (metadata_number(metadata, 'width'));
+
+CREATE INDEX IF NOT EXISTS idx_content_metadata_height
+    ON content (metadata_number(metadata, 'height'));
+
+CREATE INDEX IF NOT EXISTS idx_content_metadata_bitrate
+    ON content (metadata_number(metadata, 'bitrate'));
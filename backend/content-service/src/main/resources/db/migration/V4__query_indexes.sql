@@ -0,0 +1,35 @@
+-- One index per ContentRepository access path, column order matching filter then sort,
+-- so each page is an index range scan that stops after LIMIT rows.
+
+-- findByIsPublicTrue, sorted by upload date (default listing)
+CREATE INDEX IF NOT EXISTS idx_content_public_upload_date
+    ON content (upload_date DESC) WHERE is_public = true;
+
+-- findByUserId / getUserContent
+CREATE INDEX IF NOT EXISTS idx_content_user_upload_date
+    ON content (user_id, upload_date DESC);
+
+-- findByContentType
+CREATE INDEX IF NOT EXISTS idx_content_type_upload_date
+    ON content (content_type, upload_date DESC);
+
+-- findByContentTypeAndUserId
+CREATE INDEX IF NOT EXISTS idx_content_user_type_upload_date
+    ON content (user_id, content_type, upload_date DESC);
+
+-- findByOrderByDownloadCountDesc (popular)
+CREATE INDEX IF NOT EXISTS idx_content_download_count
+    ON content (download_count DESC);
+
+-- findByOrderByUploadDateDesc (recent)
+CREATE INDEX IF NOT EXISTS idx_content_upload_date
+    ON content (upload_date DESC);
+
+-- ...ContainingIgnoreCase search compiles to upper(col) LIKE upper('%term%'); only trigram indexes serve infix matches.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_content_title_trgm
+    ON content USING GIN (upper(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_content_description_trgm
+    ON content USING GIN (upper(description) gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Tag lookups for related-content prefetching (ContentRepository.findIdsSharingTags)
+CREATE INDEX IF NOT EXISTS idx_content_tags_tag ON content_tags (tag);
@@ -0,0 +1,21 @@
+-- Replay cursor. Ids are taken at insert, so a transaction holding a lower id can commit
+-- after readers have paged past it. Positions are assigned by the relay when it publishes;
+-- relay passes are serialised by an advisory lock, so positions only ever grow in the
+-- order events became visible.
+CREATE SEQUENCE content_outbox_replay_position_seq;
+
+ALTER TABLE content_outbox ADD COLUMN replay_position BIGINT;
+
+UPDATE content_outbox o
+SET replay_position = p.replay_position
+FROM (SELECT id, row_number() OVER (ORDER BY id) AS replay_position
+      FROM content_outbox
+      WHERE published_at IS NOT NULL) p
+WHERE o.id = p.id;
+
+SELECT setval('content_outbox_replay_position_seq', COALESCE(MAX(replay_position), 0) + 1, false)
+FROM content_outbox;
+
+CREATE UNIQUE INDEX idx_content_outbox_replay_position ON content_outbox (replay_position);
+
+CREATE INDEX idx_content_outbox_content_replay_position ON content_outbox (content_id, replay_position);
@@ -0,0 +1,89 @@
+-- Optional: only on the classpath location enabled by the "partitioned" profile.
+-- Converts content into a table range-partitioned by month of upload_date, so recent-first
+-- listings touch only the newest partitions and old months can be detached cheaply.
+
+-- Creates monthly partitions from the month of from_date through months_ahead months
+-- past the current one. Idempotent; also called periodically by ContentPartitionMaintainer.
+CREATE OR REPLACE FUNCTION ensure_content_partitions(from_date date, months_ahead int)
+    RETURNS int
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start date := date_trunc('month', from_date)::date;
+    last_month  date := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    created     int  := 0;
+    partition_name text;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := format('content_y%sm%s', to_char(month_start, 'YYYY'), to_char(month_start, 'MM'));
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF content FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, (month_start + interval '1 month')::date);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END
+$$;
+
+UPDATE content SET upload_date = COALESCE(last_modified, now()) WHERE upload_date IS NULL;
+
+-- The partition key must be part of every unique constraint, and foreign keys cannot
+-- point at a partitioned table's id alone; tag rows are still removed by the application.
+ALTER TABLE content_tags DROP CONSTRAINT IF EXISTS content_tags_content_id_fkey;
+ALTER SEQUENCE content_id_seq OWNED BY NONE;
+ALTER TABLE content RENAME TO content_unpartitioned;
+ALTER TABLE content_unpartitioned RENAME CONSTRAINT content_pkey TO content_unpartitioned_pkey;
+
+CREATE TABLE content (
+    id             BIGINT       NOT NULL DEFAULT nextval('content_id_seq'),
+    title          VARCHAR(255) NOT NULL,
+    description    TEXT,
+    content_type   VARCHAR(255) NOT NULL,
+    file_path      VARCHAR(255),
+    file_size      BIGINT,
+    mime_type      VARCHAR(255),
+    upload_date    TIMESTAMP    NOT NULL,
+    last_modified  TIMESTAMP,
+    user_id        BIGINT       NOT NULL,
+    download_count BIGINT DEFAULT 0,
+    is_public      BOOLEAN DEFAULT TRUE,
+    metadata       JSONB,
+    PRIMARY KEY (id, upload_date)
+) PARTITION BY RANGE (upload_date);
+
+ALTER SEQUENCE content_id_seq OWNED BY content.id;
+
+-- Rows outside every monthly range land here rather than failing the insert.
+CREATE TABLE content_default PARTITION OF content DEFAULT;
+
+SELECT ensure_content_partitions(
+    COALESCE((SELECT min(upload_date) FROM content_unpartitioned), now())::date, 3);
+
+INSERT INTO content (id, title, description, content_type, file_path, file_size, mime_type,
+                     upload_date, last_modified, user_id, download_count, is_public, metadata)
+SELECT id, title, description, content_type, file_path, file_size, mime_type,
+       upload_date, last_modified, user_id, download_count, is_public, metadata
+FROM content_unpartitioned;
+
+DROP TABLE content_unpartitioned;
+
+-- findById no longer has a single-column unique index to probe.
+CREATE INDEX idx_content_id ON content (id);
+
+-- Indexes from V3 and V4, recreated on the partitioned parent (cascades to every partition).
+CREATE INDEX idx_content_metadata ON content USING GIN (metadata jsonb_path_ops);
+CREATE INDEX idx_content_metadata_duration ON content (metadata_number(metadata, 'duration'));
+CREATE INDEX idx_content_metadata_width ON content (metadata_number(metadata, 'width'));
+CREATE INDEX idx_content_metadata_height ON content (metadata_number(metadata, 'height'));
+CREATE INDEX idx_content_metadata_bitrate ON content (metadata_number(metadata, 'bitrate'));
+
+CREATE INDEX idx_content_public_upload_date ON content (upload_date DESC) WHERE is_public = true;
+CREATE INDEX idx_content_user_upload_date ON content (user_id, upload_date DESC);
+CREATE INDEX idx_content_type_upload_date ON content (content_type, upload_date DESC);
+CREATE INDEX idx_content_user_type_upload_date ON content (user_id, content_type, upload_date DESC);
+CREATE INDEX idx_content_download_count ON content (download_count DESC);
+CREATE INDEX idx_content_upload_date ON content (upload_date DESC);
+CREATE INDEX idx_content_title_trgm ON content USING GIN (upper(title) gin_trgm_ops);
+CREATE INDEX idx_content_description_trgm ON content USING GIN (upper(description) gin_trgm_ops);
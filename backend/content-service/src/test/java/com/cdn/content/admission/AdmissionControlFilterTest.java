@@ -0,0 +1,81 @@
+package com.cdn.content.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void classifiesRequestsByPath() {
+        assertThat(AdmissionControlFilter.classify(request("POST", "/api/v1/content/upload")))
+                .isEqualTo(RequestPriority.UPLOAD);
+        assertThat(AdmissionControlFilter.classify(request("GET", "/api/v1/content/5/download")))
+                .isEqualTo(RequestPriority.DOWNLOAD);
+        assertThat(AdmissionControlFilter.classify(request("GET", "/api/v1/content/search")))
+                .isEqualTo(RequestPriority.SEARCH);
+        assertThat(AdmissionControlFilter.classify(request("GET", "/api/v1/content/5")))
+                .isEqualTo(RequestPriority.METADATA);
+    }
+
+    @Test
+    void rejectsExcessWith503AndRetryAfter() throws Exception {
+        GradientConcurrencyLimiter limiter = limiter(1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, true, 2, new SimpleMeterRegistry());
+        assertThat(limiter.tryAcquire(RequestPriority.DOWNLOAD)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/v1/content/5"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void admittedRequestReleasesItsPermit() throws Exception {
+        GradientConcurrencyLimiter limiter = limiter(1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, true, 1, new SimpleMeterRegistry());
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/v1/content/5"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    void disabledFilterPassesEverythingThrough() throws Exception {
+        GradientConcurrencyLimiter limiter = limiter(1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, false, 1, new SimpleMeterRegistry());
+        assertThat(limiter.tryAcquire(RequestPriority.DOWNLOAD)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/v1/content/5"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(limiter.getInflight()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static GradientConcurrencyLimiter limiter(int limit) {
+        Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            shares.put(priority, priority.getDefaultShare());
+        }
+        return new GradientConcurrencyLimiter(limit, 1, 100, 0.2, 1.5, 600, shares);
+    }
+}
@@ -0,0 +1,91 @@
+package com.cdn.content.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+    private static final int BUSY = 1_000;
+
+    @Test
+    void lowerPrioritiesAreShedFirst() {
+        GradientConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(RequestPriority.UPLOAD)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(RequestPriority.UPLOAD)).isFalse();
+        assertThat(limiter.tryAcquire(RequestPriority.SEARCH)).isTrue();
+        assertThat(limiter.tryAcquire(RequestPriority.SEARCH)).isTrue();
+        assertThat(limiter.tryAcquire(RequestPriority.SEARCH)).isFalse();
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(RequestPriority.DOWNLOAD)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(RequestPriority.METADATA)).isFalse();
+        assertThat(limiter.getInflight()).isEqualTo(10);
+    }
+
+    @Test
+    void releaseFreesAPermit() {
+        GradientConcurrencyLimiter limiter = limiter(1, 1, 100);
+        assertThat(limiter.tryAcquire(RequestPriority.DOWNLOAD)).isTrue();
+        assertThat(limiter.tryAcquire(RequestPriority.DOWNLOAD)).isFalse();
+
+        limiter.release(MILLIS, 1, false);
+
+        assertThat(limiter.tryAcquire(RequestPriority.DOWNLOAD)).isTrue();
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysFlatAndShrinksWhenItRises() {
+        GradientConcurrencyLimiter limiter = limiter(20, 5, 200);
+        for (int i = 0; i < 50; i++) {
+            limiter.release(MILLIS, BUSY, true);
+        }
+        double grown = limiter.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(10 * MILLIS, BUSY, true);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileDemandIsWellBelowIt() {
+        GradientConcurrencyLimiter limiter = limiter(20, 5, 200);
+        for (int i = 0; i < 50; i++) {
+            limiter.release(MILLIS, 2, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        GradientConcurrencyLimiter limiter = limiter(20, 15, 30);
+        for (int i = 0; i < 200; i++) {
+            limiter.release(MILLIS, BUSY, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(30);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.release(100 * MILLIS, BUSY, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(15);
+    }
+
+    private static GradientConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            shares.put(priority, priority.getDefaultShare());
+        }
+        return new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, 0.2, 1.5, 600, shares);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cdn.content.cache;
+
+import com.cdn.content.config.CacheConfig;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.service.ContentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ContentCacheWarmerTest {
+
+    private ContentService contentService;
+    private CacheManager cacheManager;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        contentService = mock(ContentService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new CacheConfig().cacheManager(meterRegistry, 3600, 10_000);
+    }
+
+    @Test
+    void preloadsPopularAndRecentContentOnce() {
+        when(contentService.getPopularContent(3)).thenReturn(responses(1L, 2L, 3L));
+        when(contentService.getRecentContent(2)).thenReturn(responses(3L, 4L));
+        ContentCacheWarmer warmer = warmer(true);
+
+        assertThat(warmer.getProgress()).isZero();
+        warmer.run(null);
+
+        WarmableCache cache = (WarmableCache) cacheManager.getCache(CacheConfig.CONTENT_CACHE);
+        assertThat(List.of(1L, 2L, 3L, 4L)).allMatch(cache::contains);
+        assertThat(gauge("content.cache.warmup.loaded")).isEqualTo(4);
+        assertThat(gauge("content.cache.warmup.target")).isEqualTo(4);
+        assertThat(warmer.getProgress()).isEqualTo(1.0);
+    }
+
+    @Test
+    void failureKeepsWhatWasLoadedAndCompletes() {
+        when(contentService.getPopularContent(3)).thenReturn(responses(1L, 2L));
+        when(contentService.getRecentContent(2)).thenThrow(new IllegalStateException("database unavailable"));
+        ContentCacheWarmer warmer = warmer(true);
+
+        warmer.run(null);
+
+        WarmableCache cache = (WarmableCache) cacheManager.getCache(CacheConfig.CONTENT_CACHE);
+        assertThat(cache.contains(1L)).isTrue();
+        assertThat(gauge("content.cache.warmup.loaded")).isEqualTo(2);
+        assertThat(warmer.getProgress()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("content.cache.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledWarmerLoadsNothingAndReportsComplete() {
+        ContentCacheWarmer warmer = warmer(false);
+
+        warmer.run(null);
+
+        verifyNoInteractions(contentService);
+        assertThat(gauge("content.cache.warmup.target")).isZero();
+        assertThat(warmer.getProgress()).isEqualTo(1.0);
+    }
+
+    private ContentCacheWarmer warmer(boolean enabled) {
+        return new ContentCacheWarmer(contentService, cacheManager, meterRegistry, enabled, 3, 2);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static List<ContentResponse> responses(Long... ids) {
+        List<ContentResponse> responses = new ArrayList<>();
+        for (Long id : ids) {
+            ContentResponse response = new ContentResponse();
+            response.setId(id);
+            responses.add(response);
+        }
+        return responses;
+    }
+}
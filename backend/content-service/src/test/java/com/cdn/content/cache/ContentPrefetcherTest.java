@@ -0,0 +1,160 @@
+package com.cdn.content.cache;
+
+import com.cdn.content.config.CacheConfig;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.repository.ContentRepository;
+import com.cdn.content.service.ContentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ContentPrefetcherTest {
+
+    private ContentService contentService;
+    private ContentRepository contentRepository;
+    private MeterRegistry meterRegistry;
+    private WarmableCache cache;
+    private ContentPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        contentService = mock(ContentService.class);
+        contentRepository = mock(ContentRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(contentService.getContentByIds(anyCollection()))
+                .thenAnswer(invocation -> responses(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+    }
+
+    @Test
+    void disabledPrefetcherIgnoresAccesses() {
+        prefetcher = prefetcher(false, 300);
+
+        prefetcher.onAccess(response(1L, List.of("music"), null), 7L);
+
+        verifyNoInteractions(contentService, contentRepository);
+    }
+
+    @Test
+    void loadsItemsSharingTagsThatAreNotCached() {
+        prefetcher = prefetcher(true, 300);
+        cache.put(3L, response(3L, null, null));
+        when(contentRepository.findIdsSharingTags(1L, List.of("music"), PageRequest.of(0, 3)))
+                .thenReturn(List.of(2L, 3L));
+
+        prefetcher.onAccess(response(1L, List.of("music"), null), null);
+
+        awaitLoaded(1);
+        assertThat(requestedIds()).containsExactly(2L);
+        assertThat(cache.contains(2L)).isTrue();
+        assertThat(cache.get(2L).get()).isInstanceOf(ContentResponse.class);
+        assertThat(meterRegistry.get("content.cache.lookups").tag("result", "warm_hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void loadsNextEpisodeOfSeries() {
+        prefetcher = prefetcher(true, 300);
+        when(contentRepository.findIdsByMetadataContaining("{\"series\":\"lectures\",\"episode\":4}", 1))
+                .thenReturn(List.of(9L));
+
+        prefetcher.onAccess(response(8L, null, "{\"series\":\"lectures\",\"episode\":3}"), null);
+
+        awaitLoaded(1);
+        assertThat(requestedIds()).containsExactly(9L);
+    }
+
+    @Test
+    void loadsFrequentSuccessorOnceSeenOftenEnough() {
+        prefetcher = prefetcher(true, 0);
+
+        prefetcher.onAccess(response(1L, null, null), 7L);
+        prefetcher.onAccess(response(2L, null, null), 7L);
+        prefetcher.onAccess(response(1L, null, null), 8L);
+        prefetcher.onAccess(response(2L, null, null), 8L);
+        prefetcher.onAccess(response(1L, null, null), 9L);
+
+        awaitLoaded(1);
+        assertThat(requestedIds()).containsExactly(2L);
+        assertThat(meterRegistry.get("content.cache.prefetch.predicted").tag("source", "sequence").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void predictsEachItemOncePerCooldown() {
+        prefetcher = prefetcher(true, 300);
+        when(contentRepository.findIdsSharingTags(eq(1L), anyCollection(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(2L));
+
+        prefetcher.onAccess(response(1L, List.of("music"), null), null);
+        prefetcher.onAccess(response(1L, List.of("music"), null), null);
+        prefetcher.onAccess(response(5L, List.of("music"), null), null);
+
+        // Accesses are processed in order on one thread, so once item 5 is seen both reads of item 1 are done.
+        verify(contentRepository, timeout(5000)).findIdsSharingTags(eq(5L), anyCollection(), eq(PageRequest.of(0, 3)));
+        verify(contentRepository, times(1)).findIdsSharingTags(eq(1L), anyCollection(), eq(PageRequest.of(0, 3)));
+    }
+
+    private ContentPrefetcher prefetcher(boolean enabled, long cooldownSeconds) {
+        CacheManager cacheManager = new CacheConfig().cacheManager(meterRegistry, 3600, 10_000);
+        cache = (WarmableCache) cacheManager.getCache(CacheConfig.CONTENT_CACHE);
+        return new ContentPrefetcher(contentService, contentRepository, cacheManager, new ObjectMapper(),
+                meterRegistry, enabled, 3, 2, cooldownSeconds, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> requestedIds() {
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(contentService).getContentByIds(ids.capture());
+        return new ArrayList<>(ids.getValue());
+    }
+
+    private void awaitLoaded(double expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.counter("content.cache.prefetch.loaded").count() < expected) {
+            assertThat(System.currentTimeMillis()).as("prefetch did not complete").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ContentResponse response(Long id, List<String> tags, String metadata) {
+        ContentResponse response = new ContentResponse();
+        response.setId(id);
+        response.setTags(tags);
+        response.setMetadata(metadata);
+        return response;
+    }
+
+    private static List<ContentResponse> responses(Collection<Long> ids) {
+        List<ContentResponse> responses = new ArrayList<>();
+        for (Long id : ids) {
+            responses.add(response(id, null, null));
+        }
+        return responses;
+    }
+}
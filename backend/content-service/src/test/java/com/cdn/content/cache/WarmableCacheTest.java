@@ -0,0 +1,84 @@
+package com.cdn.content.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmableCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private WarmableCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new WarmableCache(new CaffeineCache("content", Caffeine.newBuilder().build()), meterRegistry);
+    }
+
+    @Test
+    void warmEntriesAreUnwrappedAndCountedAsWarmHits() {
+        assertThat(cache.putWarm(1L, "warm")).isTrue();
+        cache.put(2L, "filled");
+
+        assertThat(cache.get(1L).get()).isEqualTo("warm");
+        assertThat(cache.get(1L, String.class)).isEqualTo("warm");
+        assertThat(cache.get(2L).get()).isEqualTo("filled");
+        assertThat(cache.get(3L)).isNull();
+
+        assertThat(lookups("warm_hit")).isEqualTo(2);
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(cache.getWarmHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void putWarmDoesNotReplaceExistingEntry() {
+        cache.put(1L, "filled");
+
+        assertThat(cache.putWarm(1L, "warm")).isFalse();
+        assertThat(cache.get(1L).get()).isEqualTo("filled");
+        assertThat(lookups("warm_hit")).isZero();
+    }
+
+    @Test
+    void containsDoesNotCountAsLookup() {
+        cache.putWarm(1L, "warm");
+
+        assertThat(cache.contains(1L)).isTrue();
+        assertThat(cache.contains(2L)).isFalse();
+        assertThat(lookups("warm_hit") + lookups("hit") + lookups("miss")).isZero();
+    }
+
+    @Test
+    void valueLoaderRunsOnlyOnMiss() {
+        cache.putWarm(1L, "warm");
+
+        assertThat(cache.get(1L, () -> "loaded")).isEqualTo("warm");
+        assertThat(cache.get(2L, () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get(2L).get()).isEqualTo("loaded");
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(lookups("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void putIfAbsentReturnsUnwrappedWarmValue() {
+        cache.putWarm(1L, "warm");
+
+        assertThat(cache.putIfAbsent(1L, "other").get()).isEqualTo("warm");
+        assertThat(cache.putIfAbsent(2L, "other")).isNull();
+    }
+
+    @Test
+    void warmHitRatioIsZeroWithoutLookups() {
+        assertThat(cache.getWarmHitRatio()).isZero();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("content.cache.lookups").tag("result", result).counter().count();
+    }
+}
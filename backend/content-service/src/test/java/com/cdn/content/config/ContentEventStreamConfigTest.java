@@ -0,0 +1,71 @@
+package com.cdn.content.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentEventStreamConfigTest {
+
+    private ContentEventStreamConfig config;
+    private StringRedisTemplate redisTemplate;
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        config = new ContentEventStreamConfig();
+        ReflectionTestUtils.setField(config, "streamKey", "content-events");
+        redisTemplate = mock(StringRedisTemplate.class);
+        streamOperations = mock(StreamOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+    }
+
+    @Test
+    void readErrorsAreCountedAndDoNotCancelTheSubscription() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        StreamReadRequest<String> request = config.readRequest(ReadOffset.latest(), meterRegistry);
+        request.getErrorHandler().handleError(new RedisConnectionFailureException("connection reset"));
+
+        assertThat(request.getCancelSubscriptionOnError().test(new RedisConnectionFailureException("reset")))
+                .isFalse();
+        assertThat(meterRegistry.counter("content.events.listener.errors").count()).isEqualTo(1);
+    }
+
+    @Test
+    void startsAfterNewestEventPresentAtStartup() {
+        MapRecord<String, Object, Object> newest = StreamRecords.mapBacked(Map.<Object, Object>of("type", "UPDATED"))
+                .withStreamKey("content-events")
+                .withId(RecordId.of("1700000000000-3"));
+        when(streamOperations.reverseRange(eq("content-events"), any(), any())).thenReturn(List.of(newest));
+
+        assertThat(config.startOffset(redisTemplate).getOffset()).isEqualTo("1700000000000-3");
+    }
+
+    @Test
+    void redisDownAtStartupStartsFromNewEventsInsteadOfReplayingTheStream() {
+        when(streamOperations.reverseRange(eq("content-events"), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThat(config.startOffset(redisTemplate).getOffset()).isEqualTo(ReadOffset.latest().getOffset());
+    }
+}
@@ -0,0 +1,171 @@
+package com.cdn.content.controller;
+
+import com.cdn.content.cache.ContentPrefetcher;
+import com.cdn.content.client.AnalyticsClient;
+import com.cdn.content.config.SecurityConfig;
+import com.cdn.content.dto.ContentRequest;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.security.GatewayIdentityVerifier;
+import com.cdn.content.service.ContentService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ContentController.class,
+        properties = "gateway.identity.secret=" + ContentControllerTest.SECRET)
+@Import(SecurityConfig.class)
+class ContentControllerTest {
+
+    static final String SECRET = "gatewayIdentitySecret1234567890abcdef";
+
+    private final GatewayIdentityVerifier signer = new GatewayIdentityVerifier(SECRET, 300_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ContentService contentService;
+
+    @MockBean
+    private AnalyticsClient analyticsClient;
+
+    @MockBean
+    private ContentPrefetcher contentPrefetcher;
+
+    @Test
+    void listLimitIsClampedForApiClients() {
+        assertThat(ContentController.clampLimit(-1)).isEqualTo(1);
+        assertThat(ContentController.clampLimit(0)).isEqualTo(1);
+        assertThat(ContentController.clampLimit(25)).isEqualTo(25);
+        assertThat(ContentController.clampLimit(10_000)).isEqualTo(ContentController.MAX_LIST_LIMIT);
+    }
+
+    @Test
+    void everyViewIsCountedEvenWhenTheContentComesFromCache() throws Exception {
+        // getContentById is @Cacheable, so the same response stands in for a cache hit
+        ContentResponse cached = new ContentResponse();
+        cached.setId(5L);
+        when(contentService.getContentById(5L)).thenReturn(cached);
+
+        mockMvc.perform(get("/api/v1/content/5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/content/5")).andExpect(status().isOk());
+
+        verify(contentService, times(2)).recordView(5L);
+    }
+
+    @Test
+    void uploadDateRangeListsPublicContentInTheWindow() throws Exception {
+        mockMvc.perform(get("/api/v1/content")
+                        .param("uploadedFrom", "2026-01-01T00:00:00")
+                        .param("uploadedBefore", "2026-02-01T00:00:00"))
+                .andExpect(status().isOk());
+
+        verify(contentService).getPublicContentUploadedBetween(eq(LocalDateTime.of(2026, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2026, 2, 1, 0, 0)), any());
+        verify(contentService, never()).getAllContent(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void uploadDateRangeNeedsBothBoundsAndNoOtherFilters() throws Exception {
+        mockMvc.perform(get("/api/v1/content").param("uploadedFrom", "2026-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/content")
+                        .param("uploadedFrom", "2026-01-01T00:00:00")
+                        .param("uploadedBefore", "2026-02-01T00:00:00")
+                        .param("userId", "42"))
+                .andExpect(status().isBadRequest());
+
+        verify(contentService, never()).getPublicContentUploadedBetween(any(), any(), any());
+    }
+
+    @Test
+    void uploadStoresMetadataObjectsNormalized() throws Exception {
+        mockMvc.perform(signed(upload("{ \"duration\" : 90 }")))
+                .andExpect(status().isCreated());
+
+        ArgumentCaptor<ContentRequest> request = ArgumentCaptor.forClass(ContentRequest.class);
+        verify(contentService).uploadContent(any(), request.capture());
+        assertThat(request.getValue().getMetadata()).isEqualTo("{\"duration\":90}");
+    }
+
+    @Test
+    void uploadRejectsMetadataThatIsNotAJsonObject() throws Exception {
+        for (String metadata : List.of("{\"duration\":", "[1,2]", "42", "{\"a\":1} {\"b\":2}")) {
+            mockMvc.perform(signed(upload(metadata)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(contentService, never()).uploadContent(any(), any());
+    }
+
+    @Test
+    void updateAcceptsMetadataAsObjectOrEncodedString() throws Exception {
+        mockMvc.perform(signed(update("{\"duration\":90}")))
+                .andExpect(status().isOk());
+        mockMvc.perform(signed(update("\"{\\\"duration\\\":90}\"")))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<ContentRequest> request = ArgumentCaptor.forClass(ContentRequest.class);
+        verify(contentService, times(2)).updateContent(eq(5L), request.capture());
+        assertThat(request.getAllValues()).extracting(ContentRequest::getMetadata)
+                .containsOnly("{\"duration\":90}");
+    }
+
+    @Test
+    void updateRejectsMetadataLikeUpload() throws Exception {
+        for (String metadata : List.of("\"{\\\"duration\\\":\"", "[1,2]", "42", "\"[1,2]\"")) {
+            mockMvc.perform(signed(update(metadata)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(contentService, never()).updateContent(any(), any());
+    }
+
+    private static MockHttpServletRequestBuilder upload(String metadata) {
+        return multipart("/api/v1/content/upload")
+                .file(new MockMultipartFile("file", "clip.mp4", "video/mp4", new byte[] {1}))
+                .param("title", "Clip")
+                .param("description", "A clip")
+                .param("contentType", "VIDEO")
+                .param("userId", "42")
+                .param("metadata", metadata);
+    }
+
+    private static MockHttpServletRequestBuilder update(String metadataJson) {
+        return put("/api/v1/content/5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Clip\",\"contentType\":\"VIDEO\",\"userId\":42,\"metadata\":"
+                        + metadataJson + "}");
+    }
+
+    private MockHttpServletRequestBuilder signed(MockHttpServletRequestBuilder request) {
+        long timestamp = System.currentTimeMillis();
+        return request.header("X-User-Id", "42")
+                .header("X-User-Name", "alice")
+                .header("X-User-Roles", "USER")
+                .header("X-User-Timestamp", Long.toString(timestamp))
+                .header("X-User-Signature", signer.sign("42", "alice", "USER", timestamp));
+    }
+}
@@ -0,0 +1,69 @@
+package com.cdn.content.controller;
+
+import com.cdn.content.config.SecurityConfig;
+import com.cdn.content.security.GatewayIdentityVerifier;
+import com.cdn.content.service.ContentEventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ContentEventController.class,
+        properties = "gateway.identity.secret=" + ContentEventControllerTest.SECRET)
+@Import(SecurityConfig.class)
+class ContentEventControllerTest {
+
+    static final String SECRET = "gatewayIdentitySecret1234567890abcdef";
+
+    private final GatewayIdentityVerifier signer = new GatewayIdentityVerifier(SECRET, 300_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ContentEventService contentEventService;
+
+    @Test
+    void anonymousCallersCannotReplay() throws Exception {
+        mockMvc.perform(get("/api/v1/content/events")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void regularUsersCannotReplay() throws Exception {
+        mockMvc.perform(signed(get("/api/v1/content/events"), "42", "alice", "USER"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminsAndInternalServicesCanReplay() throws Exception {
+        when(contentEventService.replay(any(), any(), anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(signed(get("/api/v1/content/events"), "1", "root", "USER,ADMIN"))
+                .andExpect(status().isOk());
+        mockMvc.perform(signed(get("/api/v1/content/events"), null, "search-indexer", "INTERNAL"))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder signed(MockHttpServletRequestBuilder request,
+                                                 String userId, String username, String roles) {
+        long timestamp = System.currentTimeMillis();
+        if (userId != null) {
+            request.header("X-User-Id", userId);
+        }
+        return request.header("X-User-Name", username)
+                .header("X-User-Roles", roles)
+                .header("X-User-Timestamp", Long.toString(timestamp))
+                .header("X-User-Signature", signer.sign(userId, username, roles, timestamp));
+    }
+}
@@ -0,0 +1,109 @@
+package com.cdn.content.event;
+
+import com.cdn.content.entity.OutboxEvent;
+import com.cdn.content.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private RedisStreamCommands streamCommands;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+        RedisConnection connection = mock(RedisConnection.class);
+        streamCommands = mock(RedisStreamCommands.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+
+        relay = new OutboxRelay(outboxEventRepository, redisTemplate, transactionTemplate,
+                new SimpleMeterRegistry(), "content-events", 2, 1000, 7);
+    }
+
+    @Test
+    void publishesEventsInOutboxOrderAcrossBatches() {
+        when(outboxEventRepository.tryAcquireRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findUnpublished(anyInt()))
+                .thenReturn(List.of(event(1L, 10L, ContentEventType.CREATED), event(2L, 10L, ContentEventType.UPDATED)))
+                .thenReturn(List.of(event(3L, 10L, ContentEventType.DELETED)));
+
+        relay.relay();
+
+        ArgumentCaptor<ByteRecord> records = ArgumentCaptor.forClass(ByteRecord.class);
+        verify(streamCommands, times(3)).xAdd(records.capture(), any(XAddOptions.class));
+        List<String> published = new ArrayList<>();
+        for (ByteRecord record : records.getAllValues()) {
+            published.add(field(record, OutboxRelay.FIELD_EVENT_ID) + ":" + field(record, OutboxRelay.FIELD_TYPE));
+        }
+        assertThat(published).containsExactly("1:CREATED", "2:UPDATED", "3:DELETED");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> marked = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxEventRepository, times(2)).markPublished(marked.capture(), any());
+        assertThat(marked.getAllValues()).containsExactly(List.of(1L, 2L), List.of(3L));
+    }
+
+    @Test
+    void skipsPassWhenAnotherInstanceHoldsTheLock() {
+        when(outboxEventRepository.tryAcquireRelayLock(anyLong())).thenReturn(false);
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).findUnpublished(anyInt());
+        verify(streamCommands, never()).xAdd(any(ByteRecord.class), any(XAddOptions.class));
+    }
+
+    private static OutboxEvent event(Long id, Long contentId, ContentEventType type) {
+        OutboxEvent event = new OutboxEvent(contentId, type, "{}");
+        event.setId(id);
+        return event;
+    }
+
+    private static String field(ByteRecord record, String name) {
+        for (Map.Entry<byte[], byte[]> entry : record.getValue().entrySet()) {
+            if (new String(entry.getKey(), StandardCharsets.UTF_8).equals(name)) {
+                return new String(entry.getValue(), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.cdn.content.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetadataFilterParserTest {
+
+    @Test
+    void parsesRawAndPercentEncodedOperators() {
+        List<MetadataFilter> filters = MetadataFilterParser.parse(
+                "page=0&metadata.duration>60&metadata.bitrate%3C%3D5000&metadata.codec=h264&search=cat");
+
+        assertThat(filters).hasSize(3);
+        assertFilter(filters.get(0), List.of("duration"), MetadataFilter.Operator.GT, "60");
+        assertFilter(filters.get(1), List.of("bitrate"), MetadataFilter.Operator.LTE, "5000");
+        assertFilter(filters.get(2), List.of("codec"), MetadataFilter.Operator.EQ, "h264");
+    }
+
+    @Test
+    void parsesNestedPathsAndNotEquals() {
+        List<MetadataFilter> filters = MetadataFilterParser.parse("metadata.video.codec!=vp9");
+
+        assertFilter(filters.get(0), List.of("video", "codec"), MetadataFilter.Operator.NE, "vp9");
+    }
+
+    @Test
+    void returnsNoFiltersWithoutMetadataClauses() {
+        assertThat(MetadataFilterParser.parse(null)).isEmpty();
+        assertThat(MetadataFilterParser.parse("")).isEmpty();
+        assertThat(MetadataFilterParser.parse("contentType=VIDEO&size=20")).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidPaths() {
+        assertThatThrownBy(() -> MetadataFilterParser.parse("metadata.dur'ation=1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MetadataFilterParser.parse("metadata.a.b.c.d.e.f=1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MetadataFilterParser.parse("metadata.duration"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNonNumericRangeValues() {
+        assertThatThrownBy(() -> MetadataFilterParser.parse("metadata.duration>long"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("numeric");
+    }
+
+    @Test
+    void rejectsTooManyFilters() {
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i <= MetadataFilterParser.MAX_FILTERS; i++) {
+            query.append(i == 0 ? "" : "&").append("metadata.k").append(i).append("=v");
+        }
+
+        assertThatThrownBy(() -> MetadataFilterParser.parse(query.toString()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertFilter(MetadataFilter filter, List<String> path,
+                                     MetadataFilter.Operator operator, String value) {
+        assertThat(filter.getPath()).isEqualTo(path);
+        assertThat(filter.getOperator()).isEqualTo(operator);
+        assertThat(filter.getValue()).isEqualTo(value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.cdn.content.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every SQL statement Hibernate prepares, so tests can inspect the exact queries
+ * a repository method runs. Registered by class name, hence the static buffer.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> drain() {
+        synchronized (STATEMENTS) {
+            List<String> statements = new ArrayList<>(STATEMENTS);
+            STATEMENTS.clear();
+            return statements;
+        }
+    }
+}
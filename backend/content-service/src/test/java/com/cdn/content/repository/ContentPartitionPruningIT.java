@@ -0,0 +1,109 @@
+package com.cdn.content.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks, against the schema of the "partitioned" profile, that an upload-date window is
+ * pruned to the monthly partitions it overlaps. Pruning by parameter happens when a plan
+ * is made for the actual values, so the captured SQL is prepared and explained with them
+ * under a forced custom plan rather than as a generic plan.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.locations=classpath:db/migration,classpath:db/partitioning",
+        "spring.flyway.out-of-order=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.cdn.content.repository.CapturingStatementInspector"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Testcontainers
+class ContentPartitionPruningIT {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("\\bcontent_y\\d{4}m\\d{2}\\b");
+    private static final Pattern JDBC_PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void uploadDateRangeReadsOnlyTheMonthItCovers() {
+        // V5 creates partitions from the database's current month onwards
+        LocalDateTime month = jdbcTemplate.queryForObject(
+                "SELECT date_trunc('month', now())::timestamp", LocalDateTime.class);
+        String expected = String.format("content_y%04dm%02d", month.getYear(), month.getMonthValue());
+        CapturingStatementInspector.drain();
+
+        // A later page, so the count query runs too
+        contentRepository.findPublicUploadedBetween(month, month.plusMonths(1),
+                PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "uploadDate")));
+
+        List<String> statements = CapturingStatementInspector.drain();
+        assertThat(statements).as("captured SQL").isNotEmpty();
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_custom_plan");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        for (String sql : statements) {
+            String plan = explain(sql, Timestamp.valueOf(month), Timestamp.valueOf(month.plusMonths(1)));
+            assertThat(partitionsIn(plan)).as(sql + "\n" + plan).containsExactly(expected);
+            assertThat(plan).as(sql).doesNotContain("Seq Scan");
+        }
+    }
+
+    // The two range bounds come first in every statement; any later parameters are the page offset and size.
+    private String explain(String sql, Timestamp from, Timestamp to) {
+        Matcher matcher = JDBC_PARAMETER.matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        List<String> arguments = new ArrayList<>();
+        while (matcher.find()) {
+            int index = arguments.size();
+            arguments.add(index == 0 ? "'" + from + "'" : index == 1 ? "'" + to + "'" : "20");
+            matcher.appendReplacement(numbered, Matcher.quoteReplacement("$" + arguments.size()));
+        }
+        matcher.appendTail(numbered);
+
+        jdbcTemplate.execute("PREPARE pruning_check AS " + numbered);
+        try {
+            return String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE pruning_check(" + String.join(", ", arguments) + ")", String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE pruning_check");
+        }
+    }
+
+    private static Set<String> partitionsIn(String plan) {
+        Set<String> partitions = new TreeSet<>();
+        Matcher matcher = MONTHLY_PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.add(matcher.group());
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,173 @@
+package com.cdn.content.repository;
+
+import com.cdn.content.query.MetadataFilterParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every ContentRepository access path against a Flyway-migrated Postgres, captures the
+ * SQL Hibernate actually sends and fails if any of it is planned as a sequential scan of the
+ * content tables. Sequential scans are disabled for the EXPLAIN, so a Seq Scan in the plan
+ * means no index can serve the query at all, independent of table size. Pages after the
+ * first are requested so Spring Data also issues its count queries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.cdn.content.repository.CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Testcontainers
+class ContentQueryPlanIT {
+
+    // EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16, the version docker-compose and k8s run
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern CONTENT_SEQ_SCAN =
+            Pattern.compile("Seq Scan on (content|content_tags|content_default|content_y\\d{4}m\\d{2})\\b");
+    private static final Pattern JDBC_PARAMETER = Pattern.compile("\\?");
+
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "uploadDate"));
+    private static final Pageable TOP_TEN = PageRequest.of(0, 10);
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void findById() {
+        contentRepository.findById(1L);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findByIdForUpdate() {
+        contentRepository.findByIdForUpdate(1L);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findByIsPublicTrue() {
+        contentRepository.findByIsPublicTrue(SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findPublicUploadedBetween() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        contentRepository.findPublicUploadedBetween(from, from.plusMonths(1), SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findByUserId() {
+        contentRepository.findByUserId(1L, SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findByContentType() {
+        contentRepository.findByContentType("VIDEO", SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findByContentTypeAndUserId() {
+        contentRepository.findByContentTypeAndUserId("VIDEO", 1L, SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void search() {
+        contentRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                "video", "video", SECOND_PAGE);
+        contentRepository.searchPublicContent("video", SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void popularAndRecent() {
+        contentRepository.findByOrderByDownloadCountDesc(TOP_TEN);
+        contentRepository.findByOrderByUploadDateDesc(TOP_TEN);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findByMetadata() {
+        contentRepository.findByMetadata(MetadataFilterParser.parse("metadata.codec=h264"),
+                null, null, null, SECOND_PAGE);
+        contentRepository.findByMetadata(MetadataFilterParser.parse("metadata.duration>60"),
+                null, 1L, null, SECOND_PAGE);
+        contentRepository.findByMetadata(MetadataFilterParser.parse("metadata.codec=h264"),
+                "VIDEO", null, "video", SECOND_PAGE);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findIdsByMetadataContaining() {
+        contentRepository.findIdsByMetadataContaining("{\"series\":\"s\",\"episode\":2}", 1);
+        assertIndexBacked();
+    }
+
+    @Test
+    void findIdsSharingTags() {
+        contentRepository.findIdsSharingTags(1L, List.of("news", "sports"), PageRequest.of(0, 3));
+        assertIndexBacked();
+    }
+
+    private void assertIndexBacked() {
+        List<String> statements = CapturingStatementInspector.drain();
+        assertThat(statements).as("captured SQL").isNotEmpty();
+
+        List<String> failures = new ArrayList<>();
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        for (String sql : statements) {
+            String plan = String.join("\n",
+                    jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numbered(sql), String.class));
+            if (CONTENT_SEQ_SCAN.matcher(plan).find()) {
+                failures.add(sql + "\n" + plan);
+            }
+        }
+        assertThat(failures).as("queries without a usable index").isEmpty();
+    }
+
+    // JDBC placeholders to the $n form EXPLAIN understands; none of these queries use the jsonb ? operator.
+    private static String numbered(String sql) {
+        Matcher matcher = JDBC_PARAMETER.matcher(sql);
+        StringBuilder result = new StringBuilder();
+        int index = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(result, Matcher.quoteReplacement("$" + ++index));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
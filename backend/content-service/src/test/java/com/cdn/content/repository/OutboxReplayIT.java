@@ -0,0 +1,102 @@
+package com.cdn.content.repository;
+
+import com.cdn.content.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays the outbox while a transaction that took a lower id commits late, the case an
+ * id cursor skips for good.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class OutboxReplayIT {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void eventCommittedAfterHigherIdsIsStillReplayed() throws SQLException {
+        try (Connection slow = dataSource.getConnection(); Connection fast = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            long slowId = insert(slow, 1L);
+            long fastId = insert(fast, 2L);
+            assertThat(slowId).isLessThan(fastId);
+
+            relay();
+            List<OutboxEvent> firstPage = replayAfter(0L);
+            assertThat(ids(firstPage)).containsExactly(fastId);
+
+            slow.commit();
+            relay();
+            long cursor = firstPage.get(firstPage.size() - 1).getReplayPosition();
+            assertThat(ids(replayAfter(cursor))).containsExactly(slowId);
+            assertThat(ids(outboxEventRepository.findByContentIdAndReplayPositionGreaterThanOrderByReplayPositionAsc(
+                    1L, 0L, PageRequest.of(0, 100)))).containsExactly(slowId);
+        }
+    }
+
+    private void relay() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Long> ids = ids(outboxEventRepository.findUnpublished(100));
+            if (!ids.isEmpty()) {
+                outboxEventRepository.markPublished(ids, LocalDateTime.now());
+            }
+        });
+    }
+
+    private List<OutboxEvent> replayAfter(long position) {
+        return outboxEventRepository.findByReplayPositionGreaterThanOrderByReplayPositionAsc(
+                position, PageRequest.of(0, 100));
+    }
+
+    private static long insert(Connection connection, long contentId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO content_outbox (content_id, event_type, payload, created_at) "
+                        + "VALUES (?, 'UPDATED', '{}', now()) RETURNING id")) {
+            statement.setLong(1, contentId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,103 @@
+package com.cdn.content.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayAuthenticationFilterTest {
+
+    private final GatewayIdentityVerifier verifier = new GatewayIdentityVerifier("identitySecret", 300_000);
+    private final GatewayAuthenticationFilter filter = new GatewayAuthenticationFilter(verifier);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void signedIdentityAuthenticates() throws Exception {
+        long now = System.currentTimeMillis();
+        MockHttpServletRequest request = identity("42", "alice", "USER,ADMIN", now,
+                verifier.sign("42", "alice", "USER,ADMIN", now));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getName()).isEqualTo("42");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("USER", "ADMIN");
+        assertThat(((HttpServletRequest) chain.getRequest()).getHeader("X-User-Id")).isEqualTo("42");
+    }
+
+    @Test
+    void unsignedIdentityIsStripped() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/content/upload");
+        request.addHeader("X-User-Id", "1");
+        request.addHeader("X-User-Roles", "ADMIN");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertStripped(chain);
+    }
+
+    @Test
+    void tamperedIdentityIsStripped() throws Exception {
+        long now = System.currentTimeMillis();
+        MockHttpServletRequest request = identity("1", "alice", "USER,ADMIN", now,
+                verifier.sign("42", "alice", "USER", now));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertStripped(chain);
+    }
+
+    @Test
+    void expiredSignatureIsStripped() throws Exception {
+        long signedAt = System.currentTimeMillis() - 600_000;
+        MockHttpServletRequest request = identity("42", "alice", "USER", signedAt,
+                verifier.sign("42", "alice", "USER", signedAt));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertStripped(chain);
+    }
+
+    @Test
+    void signatureFromAnotherSecretIsRejected() {
+        long now = System.currentTimeMillis();
+        String forged = new GatewayIdentityVerifier("otherSecret", 300_000).sign("42", "alice", "USER", now);
+
+        assertThat(verifier.isValid("42", "alice", "USER", Long.toString(now), forged)).isFalse();
+    }
+
+    private static MockHttpServletRequest identity(String userId, String username, String roles,
+                                                   long timestamp, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/content/upload");
+        request.addHeader("X-User-Id", userId);
+        request.addHeader("X-User-Name", username);
+        request.addHeader("X-User-Roles", roles);
+        request.addHeader("X-User-Timestamp", Long.toString(timestamp));
+        request.addHeader("X-User-Signature", signature);
+        return request;
+    }
+
+    private static void assertStripped(MockFilterChain chain) {
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(forwarded.getHeader("X-User-Id")).isNull();
+        assertThat(forwarded.getHeader("X-User-Roles")).isNull();
+        assertThat(forwarded.getHeaders("X-User-Id").hasMoreElements()).isFalse();
+    }
+}
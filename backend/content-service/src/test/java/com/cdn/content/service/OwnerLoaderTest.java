@@ -0,0 +1,134 @@
+package com.cdn.content.service;
+
+import com.cdn.content.client.UserServiceClient;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.dto.OwnerSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OwnerLoaderTest {
+
+    private UserServiceClient userServiceClient;
+    private OwnerLoader ownerLoader;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = mock(UserServiceClient.class);
+        ownerLoader = new OwnerLoader(userServiceClient, new SimpleMeterRegistry(), 60, 10_000, 200);
+    }
+
+    @Test
+    void resolvesAllOwnersWithOneCall() {
+        when(userServiceClient.getProfiles(anyCollection())).thenAnswer(invocation -> profiles(invocation.getArgument(0)));
+        List<ContentResponse> responses = responses(1L, 2L, 1L);
+
+        ownerLoader.enrich(responses);
+
+        verify(userServiceClient, times(1)).getProfiles(anyCollection());
+        assertThat(responses).extracting(response -> response.getOwner().getUsername())
+                .containsExactly("user1", "user2", "user1");
+    }
+
+    @Test
+    void splitsLargeLookupsIntoBatchesOf200() {
+        when(userServiceClient.getProfiles(anyCollection())).thenAnswer(invocation -> profiles(invocation.getArgument(0)));
+        Long[] userIds = new Long[450];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = (long) i + 1;
+        }
+        List<ContentResponse> responses = responses(userIds);
+
+        ownerLoader.enrich(responses);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(userServiceClient, times(3)).getProfiles(batches.capture());
+        assertThat(batches.getAllValues()).extracting(Collection::size).containsExactly(200, 200, 50);
+        assertThat(responses).allSatisfy(response -> assertThat(response.getOwner()).isNotNull());
+    }
+
+    @Test
+    void cachedOwnersAreNotFetchedAgain() {
+        when(userServiceClient.getProfiles(anyCollection())).thenAnswer(invocation -> profiles(invocation.getArgument(0)));
+        ownerLoader.enrich(responses(1L, 2L));
+
+        ownerLoader.enrich(responses(1L, 2L));
+
+        verify(userServiceClient, times(1)).getProfiles(anyCollection());
+    }
+
+    @Test
+    void unknownOwnersGetPlaceholder() {
+        when(userServiceClient.getProfiles(anyCollection())).thenReturn(List.of());
+        List<ContentResponse> responses = responses(7L);
+
+        ownerLoader.enrich(responses);
+
+        assertThat(responses.get(0).getOwner().getId()).isEqualTo(7L);
+        assertThat(responses.get(0).getOwner().getUsername()).isNull();
+    }
+
+    @Test
+    void failedLookupServesWithoutOwner() {
+        when(userServiceClient.getProfiles(anyCollection())).thenThrow(new ResourceAccessException("timed out"));
+        List<ContentResponse> responses = responses(1L);
+
+        ownerLoader.enrich(responses);
+
+        assertThat(responses.get(0).getOwner()).isNull();
+        assertThat(responses.get(0).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void lookupsPauseAfterFailureUntilBackoffHasPassed() throws InterruptedException {
+        when(userServiceClient.getProfiles(anyCollection()))
+                .thenThrow(new ResourceAccessException("timed out"))
+                .thenAnswer(invocation -> profiles(invocation.getArgument(0)));
+        ownerLoader.enrich(responses(1L));
+
+        List<ContentResponse> duringBackoff = responses(2L);
+        ownerLoader.enrich(duringBackoff);
+        verify(userServiceClient, times(1)).getProfiles(anyCollection());
+        assertThat(duringBackoff.get(0).getOwner()).isNull();
+
+        Thread.sleep(250);
+        List<ContentResponse> afterBackoff = responses(2L);
+        ownerLoader.enrich(afterBackoff);
+        verify(userServiceClient, times(2)).getProfiles(anyCollection());
+        assertThat(afterBackoff.get(0).getOwner().getUsername()).isEqualTo("user2");
+    }
+
+    private static List<ContentResponse> responses(Long... userIds) {
+        List<ContentResponse> responses = new ArrayList<>();
+        for (Long userId : userIds) {
+            ContentResponse response = new ContentResponse();
+            response.setUserId(userId);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static List<OwnerSummary> profiles(Collection<Long> userIds) {
+        return userIds.stream().map(userId -> {
+            OwnerSummary owner = new OwnerSummary();
+            owner.setId(userId);
+            owner.setUsername("user" + userId);
+            return owner;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package com.cdn.content.service.impl;
+
+import com.cdn.content.dto.ContentRequest;
+import com.cdn.content.dto.ContentResponse;
+import com.cdn.content.entity.Content;
+import com.cdn.content.event.ContentEventRecorder;
+import com.cdn.content.event.ContentEventType;
+import com.cdn.content.query.MetadataFilter;
+import com.cdn.content.query.MetadataFilterParser;
+import com.cdn.content.repository.ContentRepository;
+import com.cdn.content.service.OwnerLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContentServiceImplTest {
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private OwnerLoader ownerLoader;
+
+    @Mock
+    private ContentEventRecorder contentEventRecorder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ContentServiceImpl contentService;
+
+    @Test
+    void updateLocksRowAndFlushesBeforeRecordingEvent() {
+        Content content = content(1L);
+        when(contentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(content));
+        when(contentRepository.saveAndFlush(content)).thenReturn(content);
+
+        contentService.updateContent(1L, request());
+
+        InOrder order = inOrder(contentRepository, contentEventRecorder);
+        order.verify(contentRepository).findByIdForUpdate(1L);
+        order.verify(contentRepository).saveAndFlush(content);
+        order.verify(contentEventRecorder).record(ContentEventType.UPDATED, content);
+        verify(contentRepository, never()).findById(any());
+    }
+
+    @Test
+    void deleteLocksRowAndFlushesBeforeRecordingEvent() {
+        Content content = content(1L);
+        when(contentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(content));
+
+        contentService.deleteContent(1L);
+
+        InOrder order = inOrder(contentRepository, contentEventRecorder);
+        order.verify(contentRepository).findByIdForUpdate(1L);
+        order.verify(contentRepository).delete(content);
+        order.verify(contentRepository).flush();
+        order.verify(contentEventRecorder).record(ContentEventType.DELETED, content);
+    }
+
+    @Test
+    void metadataListingKeepsSearchAndContentTypeFilters() {
+        List<MetadataFilter> filters = MetadataFilterParser.parse("metadata.duration>60");
+        Pageable pageable = PageRequest.of(0, 20);
+        when(contentRepository.findByMetadata(filters, "VIDEO", null, "cat", pageable))
+                .thenReturn(new PageImpl<>(List.of(content(1L)), pageable, 1));
+
+        Page<ContentResponse> page = contentService.getAllContent(pageable, "VIDEO", null, "cat", filters);
+
+        assertThat(page.getContent()).extracting(ContentResponse::getId).containsExactly(1L);
+        verify(contentRepository, never()).findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                any(), any(), any());
+    }
+
+    @Test
+    void listLimitBelowOneReadsOneItem() {
+        contentService.getPopularContent(0);
+        contentService.getRecentContent(-5);
+
+        verify(contentRepository).findByOrderByDownloadCountDesc(PageRequest.of(0, 1));
+        verify(contentRepository).findByOrderByUploadDateDesc(PageRequest.of(0, 1));
+    }
+
+    @Test
+    void getContentByIdOnlyReads() {
+        when(contentRepository.findById(1L)).thenReturn(Optional.of(content(1L)));
+
+        ContentResponse response = contentService.getContentById(1L);
+
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(contentRepository, never()).save(any());
+        verify(contentRepository, never()).incrementDownloadCount(any());
+    }
+
+    @Test
+    void recordViewIncrementsInTheDatabase() {
+        contentService.recordView(1L);
+
+        verify(contentRepository).incrementDownloadCount(1L);
+    }
+
+    @Test
+    void ownersAreLoadedAfterTheReadTransactionCommits() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(contentRepository.findByUserId(7L, pageable))
+                .thenReturn(new PageImpl<>(List.of(content(1L)), pageable, 1));
+
+        contentService.getUserContent(7L, pageable);
+
+        InOrder order = inOrder(transactionManager, contentRepository, ownerLoader);
+        order.verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        order.verify(contentRepository).findByUserId(7L, pageable);
+        order.verify(transactionManager).commit(any());
+        order.verify(ownerLoader).enrich(anyList());
+    }
+
+    private static Content content(Long id) {
+        Content content = new Content();
+        content.setId(id);
+        content.setUserId(7L);
+        return content;
+    }
+
+    private static ContentRequest request() {
+        ContentRequest request = new ContentRequest();
+        request.setTitle("Updated");
+        request.setContentType("VIDEO");
+        request.setIsPublic(true);
+        request.setTags(List.of("demo"));
+        return request;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cdn.notification.config;
+
+import com.cdn.notification.fanout.NotificationWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+@Configuration
+public class WebSocketConfig {
+
+    @Bean
+    public HandlerMapping notificationWebSocketMapping(NotificationWebSocketHandler handler) {
+        // Ahead of annotated controllers so the upgrade request is not treated as a REST call.
+        return new SimpleUrlHandlerMapping(Map.of("/api/v1/notifications/ws", handler), -1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.cdn.notification.controller;
+
+import com.cdn.notification.dto.NotificationFrame;
+import com.cdn.notification.fanout.Connection;
+import com.cdn.notification.fanout.ConnectionRegistry;
+import com.cdn.notification.security.GatewayIdentityFilter;
+import com.cdn.notification.service.FollowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    @Autowired
+    private ConnectionRegistry connectionRegistry;
+
+    @Autowired
+    private FollowService followService;
+
+    @Value("${notification.sse.heartbeat-seconds:30}")
+    private long heartbeatSeconds;
+
+    // userId is set by GatewayIdentityFilter, which has already answered 401 if it is missing or forged.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<NotificationFrame>> stream(@RequestAttribute(GatewayIdentityFilter.USER_ID_ATTRIBUTE) Long userId) {
+        return Flux.defer(() -> {
+            Connection connection = connectionRegistry.open(userId);
+            Flux<ServerSentEvent<NotificationFrame>> frames = connection.frames()
+                    .map(frame -> ServerSentEvent.builder(frame).event("notifications").build());
+            // Comment-only heartbeats keep idle connections open through proxies.
+            Flux<ServerSentEvent<NotificationFrame>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                    .map(tick -> ServerSentEvent.<NotificationFrame>builder().comment("keep-alive").build());
+            return Flux.merge(frames, heartbeats)
+                    .doFinally(signal -> connectionRegistry.close(connection));
+        });
+    }
+
+    @PutMapping("/follows/{creatorId}")
+    public Mono<ResponseEntity<Void>> follow(
+            @RequestAttribute(GatewayIdentityFilter.USER_ID_ATTRIBUTE) Long userId,
+            @PathVariable Long creatorId) {
+        return followService.follow(userId, creatorId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @DeleteMapping("/follows/{creatorId}")
+    public Mono<ResponseEntity<Void>> unfollow(
+            @RequestAttribute(GatewayIdentityFilter.USER_ID_ATTRIBUTE) Long userId,
+            @PathVariable Long creatorId) {
+        return followService.unfollow(userId, creatorId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/follows/{creatorId}/count")
+    public Mono<ResponseEntity<Long>> countFollowers(@PathVariable Long creatorId) {
+        return followService.countFollowers(creatorId)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,64 @@
+package com.cdn.notification.dto;
+
+import java.time.Instant;
+
+public class Notification {
+    
+    private String type;
+    private Long creatorId;
+    private Long contentId;
+    private String title;
+    private Instant createdAt;
+    
+    // Constructors
+    public Notification() {}
+    
+    public Notification(String type, Long creatorId, Long contentId, String title, Instant createdAt) {
+        this.type = type;
+        this.creatorId = creatorId;
+        this.contentId = contentId;
+        this.title = title;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Long getCreatorId() {
+        return creatorId;
+    }
+    
+    public void setCreatorId(Long creatorId) {
+        this.creatorId = creatorId;
+    }
+    
+    public Long getContentId() {
+        return contentId;
+    }
+    
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
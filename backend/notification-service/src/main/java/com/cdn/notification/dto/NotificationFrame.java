@@ -0,0 +1,39 @@
+package com.cdn.notification.dto;
+
+import java.util.List;
+
+/**
+ * One push to a client: every notification coalesced since the previous frame, plus
+ * how many were dropped because the client was not keeping up. A non-zero
+ * {@code dropped} tells the client to refresh rather than expect a complete feed.
+ */
+public class NotificationFrame {
+    
+    private List<Notification> notifications;
+    private long dropped;
+    
+    // Constructors
+    public NotificationFrame() {}
+    
+    public NotificationFrame(List<Notification> notifications, long dropped) {
+        this.notifications = notifications;
+        this.dropped = dropped;
+    }
+    
+    // Getters and Setters
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+    
+    public void setNotifications(List<Notification> notifications) {
+        this.notifications = notifications;
+    }
+    
+    public long getDropped() {
+        return dropped;
+    }
+    
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+}
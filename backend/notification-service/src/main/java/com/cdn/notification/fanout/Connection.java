@@ -0,0 +1,85 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.Notification;
+import com.cdn.notification.dto.NotificationFrame;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One open SSE or WebSocket stream. Fan-out only ever appends to a bounded pending
+ * buffer; the periodic flush turns that buffer into a single frame. When either the
+ * pending buffer or the outbound frame queue is full, the overflow is counted and
+ * reported in the next frame instead of being queued without bound.
+ */
+public class Connection {
+
+    private final long userId;
+    private final int bufferSize;
+    private final Queue<Notification> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Sinks.Many<NotificationFrame> frames;
+
+    public Connection(long userId, int bufferSize, int frameQueueSize) {
+        this.userId = userId;
+        this.bufferSize = bufferSize;
+        this.frames = Sinks.many().unicast().onBackpressureBuffer(Queues.<NotificationFrame>get(frameQueueSize).get());
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Flux<NotificationFrame> frames() {
+        return frames.asFlux();
+    }
+
+    /**
+     * Returns false if the notification was dropped because this connection is behind.
+     */
+    public boolean offer(Notification notification) {
+        if (pendingCount.incrementAndGet() > bufferSize) {
+            pendingCount.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        pending.add(notification);
+        return true;
+    }
+
+    /**
+     * Emits everything pending as one frame. Returns false if the client's frame queue
+     * was full, in which case the batch is folded into the dropped count.
+     */
+    boolean flush() {
+        List<Notification> batch = new ArrayList<>();
+        Notification next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+        }
+        long droppedSinceLastFrame = dropped.getAndSet(0);
+        if (batch.isEmpty() && droppedSinceLastFrame == 0) {
+            return true;
+        }
+
+        Sinks.EmitResult result = frames.tryEmitNext(new NotificationFrame(batch, droppedSinceLastFrame));
+        if (result.isFailure()) {
+            dropped.addAndGet(droppedSinceLastFrame + batch.size());
+            return false;
+        }
+        return true;
+    }
+
+    void close() {
+        frames.tryEmitComplete();
+    }
+}
@@ -0,0 +1,101 @@
+package com.cdn.notification.fanout;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open connections on this instance, by user. A single timer flushes every
+ * connection's pending buffer, which is what coalesces bursts into frames.
+ */
+@Component
+public class ConnectionRegistry {
+
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final int bufferSize;
+    private final int frameQueueSize;
+    private final Counter slowConsumerFrames;
+    private final Disposable flusher;
+
+    public ConnectionRegistry(MeterRegistry meterRegistry,
+                              @Value("${notification.connection.buffer-size:256}") int bufferSize,
+                              @Value("${notification.connection.frame-queue-size:8}") int frameQueueSize,
+                              @Value("${notification.fanout.flush-interval-ms:100}") long flushIntervalMs) {
+        this.bufferSize = bufferSize;
+        this.frameQueueSize = frameQueueSize;
+        this.slowConsumerFrames = meterRegistry.counter("notification.frames.dropped");
+        Gauge.builder("notification.connections", connectionCount, AtomicInteger::get)
+                .description("Open SSE and WebSocket connections on this instance")
+                .register(meterRegistry);
+
+        this.flusher = Flux.interval(Duration.ofMillis(flushIntervalMs), Schedulers.parallel())
+                .onBackpressureDrop()
+                .subscribe(tick -> flushAll());
+    }
+
+    public Connection open(long userId) {
+        Connection connection = new Connection(userId, bufferSize, frameQueueSize);
+        // Added inside compute: a concurrent close may otherwise remove the set it is being added to.
+        connectionsByUser.compute(userId, (id, connections) -> {
+            Set<Connection> updated = connections != null ? connections : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+        connectionCount.incrementAndGet();
+        return connection;
+    }
+
+    public void close(Connection connection) {
+        connectionsByUser.computeIfPresent(connection.getUserId(), (id, connections) -> {
+            if (connections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+        connection.close();
+    }
+
+    public Collection<Connection> connectionsOf(long userId) {
+        Set<Connection> connections = connectionsByUser.get(userId);
+        return connections != null ? connections : Collections.emptySet();
+    }
+
+    public Set<Long> connectedUsers() {
+        return connectionsByUser.keySet();
+    }
+
+    public int connectedUserCount() {
+        return connectionsByUser.size();
+    }
+
+    private void flushAll() {
+        for (Set<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                if (!connection.flush()) {
+                    slowConsumerFrames.increment();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.dispose();
+        connectionsByUser.values().forEach(connections -> connections.forEach(Connection::close));
+    }
+}
@@ -0,0 +1,82 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.Notification;
+import com.cdn.notification.service.FollowService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers a notification to every connected follower of a creator on this instance.
+ * Work is proportional to the smaller of the creator's follower count and the local
+ * connection count, and delivery itself is just an append to each connection's buffer.
+ */
+@Component
+public class FanoutService {
+
+    private final ConnectionRegistry connectionRegistry;
+    private final FollowService followService;
+    private final Timer fanoutLatency;
+    private final DistributionSummary recipients;
+    private final Counter droppedNotifications;
+
+    public FanoutService(ConnectionRegistry connectionRegistry,
+                         FollowService followService,
+                         MeterRegistry meterRegistry) {
+        this.connectionRegistry = connectionRegistry;
+        this.followService = followService;
+        this.fanoutLatency = Timer.builder("notification.fanout.latency")
+                .description("Time from receiving an upload event to buffering it for every connected follower")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.recipients = DistributionSummary.builder("notification.fanout.recipients")
+                .description("Connections reached per fan-out")
+                .register(meterRegistry);
+        this.droppedNotifications = meterRegistry.counter("notification.dropped");
+    }
+
+    public Mono<Void> fanout(Notification notification) {
+        if (connectionRegistry.connectedUserCount() == 0) {
+            return Mono.empty();
+        }
+        long start = System.nanoTime();
+        long creatorId = notification.getCreatorId();
+
+        return followService.countFollowers(creatorId)
+                .flatMapMany(followerCount -> connectedFollowers(creatorId, followerCount))
+                .map(followerId -> deliver(followerId, notification))
+                .reduce(0L, Long::sum)
+                .doOnNext(delivered -> {
+                    recipients.record(delivered);
+                    fanoutLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                })
+                .then();
+    }
+
+    private Flux<Long> connectedFollowers(long creatorId, long followerCount) {
+        if (connectionRegistry.connectedUserCount() < followerCount) {
+            return followService.filterFollowers(creatorId, new ArrayList<>(connectionRegistry.connectedUsers()));
+        }
+        return followService.streamFollowers(creatorId)
+                .filter(followerId -> !connectionRegistry.connectionsOf(followerId).isEmpty());
+    }
+
+    private long deliver(long followerId, Notification notification) {
+        long delivered = 0;
+        for (Connection connection : connectionRegistry.connectionsOf(followerId)) {
+            if (connection.offer(notification)) {
+                delivered++;
+            } else {
+                droppedNotifications.increment();
+            }
+        }
+        return delivered;
+    }
+}
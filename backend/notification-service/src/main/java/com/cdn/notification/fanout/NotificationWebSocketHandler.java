@@ -0,0 +1,53 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.NotificationFrame;
+import com.cdn.notification.security.GatewayIdentityFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebSocket counterpart of the SSE stream: same connection, same frames, serialized
+ * as JSON text messages. Inbound messages are ignored.
+ */
+@Component
+public class NotificationWebSocketHandler implements WebSocketHandler {
+
+    private final ConnectionRegistry connectionRegistry;
+    private final ObjectMapper objectMapper;
+
+    public NotificationWebSocketHandler(ConnectionRegistry connectionRegistry, ObjectMapper objectMapper) {
+        this.connectionRegistry = connectionRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        // The handshake was already authenticated by GatewayIdentityFilter; this only guards direct misuse.
+        Long userId = GatewayIdentityFilter.parseUserId(
+                session.getHandshakeInfo().getHeaders().getFirst(GatewayIdentityFilter.USER_ID_HEADER));
+        if (userId == null) {
+            return session.close(CloseStatus.POLICY_VIOLATION);
+        }
+
+        Connection connection = connectionRegistry.open(userId);
+        Mono<Void> outbound = session.send(connection.frames()
+                .map(frame -> session.textMessage(toJson(frame))));
+        Mono<Void> inbound = session.receive().then();
+
+        return Mono.firstWithSignal(outbound, inbound)
+                .doFinally(signal -> connectionRegistry.close(connection));
+    }
+
+    private String toJson(NotificationFrame frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification frame", e);
+        }
+    }
+}
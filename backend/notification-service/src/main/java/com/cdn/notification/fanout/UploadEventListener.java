@@ -0,0 +1,83 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamReceiver;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Follows content-service's change-event stream and fans out public uploads. Every
+ * instance reads the whole stream from its tail (no consumer group), since each one
+ * only serves its own connections and nothing needs replaying to a fresh instance.
+ */
+@Component
+public class UploadEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadEventListener.class);
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final FanoutService fanoutService;
+    private final ObjectMapper objectMapper;
+    private final String streamKey;
+    private Disposable subscription;
+
+    public UploadEventListener(ReactiveRedisConnectionFactory connectionFactory,
+                               FanoutService fanoutService,
+                               ObjectMapper objectMapper,
+                               @Value("${notification.events.stream-key:content-events}") String streamKey) {
+        this.connectionFactory = connectionFactory;
+        this.fanoutService = fanoutService;
+        this.objectMapper = objectMapper;
+        this.streamKey = streamKey;
+    }
+
+    @PostConstruct
+    public void start() {
+        StreamReceiver<String, MapRecord<String, String, String>> receiver = StreamReceiver.create(connectionFactory);
+        subscription = receiver.receive(StreamOffset.create(streamKey, ReadOffset.latest()))
+                .concatMap(record -> toNotification(record)
+                        .flatMap(fanoutService::fanout)
+                        .onErrorResume(e -> {
+                            log.warn("Fan-out of stream record {} failed: {}", record.getId(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Mono<Notification> toNotification(MapRecord<String, String, String> record) {
+        if (!"CREATED".equals(record.getValue().get("type"))) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> objectMapper.readTree(record.getValue().get("payload")))
+                .filter(payload -> payload.path("isPublic").asBoolean(true))
+                .map(payload -> new Notification(
+                        "NEW_UPLOAD",
+                        payload.path("userId").asLong(),
+                        payload.path("contentId").asLong(),
+                        payload.path("title").asText(null),
+                        Instant.now()));
+    }
+}
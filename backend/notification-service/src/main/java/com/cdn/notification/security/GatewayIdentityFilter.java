@@ -0,0 +1,88 @@
+package com.cdn.notification.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Requires a gateway-signed, numeric {@code X-User-Id} on every notification endpoint
+ * except the public follower count, and answers 401 otherwise. The verified id is exposed
+ * to handlers as the {@link #USER_ID_ATTRIBUTE} request attribute. Runs before the
+ * WebSocket handshake too, so an unauthenticated upgrade is refused the same way.
+ */
+@Component
+public class GatewayIdentityFilter implements WebFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String TIMESTAMP_HEADER = "X-User-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-User-Signature";
+    public static final String USER_ID_ATTRIBUTE = GatewayIdentityFilter.class.getName() + ".userId";
+
+    private static final String PROTECTED_PATHS = "/api/v1/notifications/**";
+    private static final String FOLLOWER_COUNT_PATH = "/api/v1/notifications/follows/*/count";
+
+    private final GatewayIdentityVerifier identityVerifier;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public GatewayIdentityFilter(@Value("${gateway.identity.secret}") String secret,
+                                 @Value("${gateway.identity.max-age-ms:300000}") long maxAgeMillis) {
+        this.identityVerifier = new GatewayIdentityVerifier(secret, maxAgeMillis);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!requiresIdentity(request)) {
+            return chain.filter(exchange);
+        }
+
+        Long userId = verifiedUserId(request.getHeaders());
+        if (userId == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        exchange.getAttributes().put(USER_ID_ATTRIBUTE, userId);
+        return chain.filter(exchange);
+    }
+
+    /**
+     * Parses a user id header value, returning null if it is missing or not a number.
+     */
+    public static Long parseUserId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean requiresIdentity(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        if (!pathMatcher.match(PROTECTED_PATHS, path) || request.getMethod() == HttpMethod.OPTIONS) {
+            return false;
+        }
+        return !(request.getMethod() == HttpMethod.GET && pathMatcher.match(FOLLOWER_COUNT_PATH, path));
+    }
+
+    private Long verifiedUserId(HttpHeaders headers) {
+        String userId = headers.getFirst(USER_ID_HEADER);
+        if (!identityVerifier.isValid(userId, headers.getFirst(USER_NAME_HEADER), headers.getFirst(USER_ROLES_HEADER),
+                headers.getFirst(TIMESTAMP_HEADER), headers.getFirst(SIGNATURE_HEADER))) {
+            return null;
+        }
+        return parseUserId(userId);
+    }
+}
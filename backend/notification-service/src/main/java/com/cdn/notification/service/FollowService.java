@@ -0,0 +1,19 @@
+package com.cdn.notification.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface FollowService {
+    
+    Mono<Void> follow(Long followerId, Long creatorId);
+    
+    Mono<Void> unfollow(Long followerId, Long creatorId);
+    
+    Mono<Long> countFollowers(Long creatorId);
+    
+    Flux<Long> streamFollowers(Long creatorId);
+    
+    Flux<Long> filterFollowers(Long creatorId, Collection<Long> candidates);
+}
@@ -0,0 +1,70 @@
+package com.cdn.notification.service.impl;
+
+import com.cdn.notification.service.FollowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class FollowServiceImpl implements FollowService {
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${notification.fanout.follower-page-size:1000}")
+    private int pageSize;
+
+    @Override
+    public Mono<Void> follow(Long followerId, Long creatorId) {
+        return redisTemplate.opsForSet().add(followersKey(creatorId), followerId.toString()).then();
+    }
+
+    @Override
+    public Mono<Void> unfollow(Long followerId, Long creatorId) {
+        return redisTemplate.opsForSet().remove(followersKey(creatorId), followerId.toString()).then();
+    }
+
+    @Override
+    public Mono<Long> countFollowers(Long creatorId) {
+        return redisTemplate.opsForSet().size(followersKey(creatorId));
+    }
+
+    // SSCAN in pages so a creator with a very large following never loads in one reply.
+    @Override
+    public Flux<Long> streamFollowers(Long creatorId) {
+        return redisTemplate.opsForSet()
+                .scan(followersKey(creatorId), ScanOptions.scanOptions().count(pageSize).build())
+                .map(Long::valueOf);
+    }
+
+    // SMISMEMBER over the candidates in pages; cheaper than a full scan when few followers are connected.
+    @Override
+    public Flux<Long> filterFollowers(Long creatorId, Collection<Long> candidates) {
+        String key = followersKey(creatorId);
+        return Flux.fromIterable(candidates)
+                .map(Object::toString)
+                .buffer(pageSize)
+                .concatMap(page -> redisTemplate.opsForSet().isMember(key, page.toArray())
+                        .flatMapIterable(membership -> {
+                            List<Long> members = new ArrayList<>();
+                            membership.forEach((member, isMember) -> {
+                                if (Boolean.TRUE.equals(isMember)) {
+                                    members.add(Long.valueOf(member.toString()));
+                                }
+                            });
+                            return members;
+                        }));
+    }
+
+    private String followersKey(Long creatorId) {
+        return "followers:" + creatorId;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.Notification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionRegistryTest {
+
+    @Test
+    void concurrentOpenAndCloseLeaveNothingBehind() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConnectionRegistry registry = new ConnectionRegistry(meterRegistry, 16, 4, 60_000);
+        int threads = 8;
+        int connectionsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < connectionsPerThread; i++) {
+                        // A handful of users, so threads keep adding to and emptying the same sets
+                        Connection connection = registry.open(i % 5);
+                        registry.close(connection);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+
+            assertThat(registry.connectedUserCount()).isZero();
+            assertThat(registry.connectedUsers()).isEmpty();
+            assertThat(meterRegistry.get("notification.connections").gauge().value()).isZero();
+        } finally {
+            executor.shutdownNow();
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void connectionsOfTheSameUserAreTrackedSeparately() {
+        ConnectionRegistry registry = new ConnectionRegistry(new SimpleMeterRegistry(), 16, 4, 60_000);
+        try {
+            Connection first = registry.open(1);
+            Connection second = registry.open(1);
+
+            registry.close(first);
+
+            assertThat(registry.connectionsOf(1)).containsExactly(second);
+            assertThat(registry.connectedUsers()).containsExactly(1L);
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void timerFlushesPendingNotificationsAndCloseCompletesTheStream() {
+        ConnectionRegistry registry = new ConnectionRegistry(new SimpleMeterRegistry(), 16, 4, 10);
+        try {
+            Connection connection = registry.open(1);
+            connection.offer(new Notification("NEW_UPLOAD", 7L, 10L, "title", Instant.now()));
+
+            StepVerifier.create(connection.frames())
+                    .assertNext(frame -> assertThat(frame.getNotifications()).hasSize(1))
+                    .then(() -> registry.close(connection))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+            assertThat(registry.connectedUserCount()).isZero();
+        } finally {
+            registry.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.Notification;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionTest {
+
+    @Test
+    void pendingNotificationsAreCoalescedIntoOneFrame() {
+        Connection connection = new Connection(1, 8, 4);
+        connection.offer(notification(10));
+        connection.offer(notification(11));
+
+        StepVerifier.create(connection.frames())
+                .then(connection::flush)
+                .assertNext(frame -> {
+                    assertThat(frame.getNotifications()).extracting(Notification::getContentId)
+                            .containsExactly(10L, 11L);
+                    assertThat(frame.getDropped()).isZero();
+                })
+                .then(connection::close)
+                .verifyComplete();
+    }
+
+    @Test
+    void offersPastTheBufferAreDroppedAndReported() {
+        Connection connection = new Connection(1, 2, 4);
+
+        assertThat(connection.offer(notification(10))).isTrue();
+        assertThat(connection.offer(notification(11))).isTrue();
+        assertThat(connection.offer(notification(12))).isFalse();
+
+        StepVerifier.create(connection.frames())
+                .then(connection::flush)
+                .assertNext(frame -> {
+                    assertThat(frame.getNotifications()).extracting(Notification::getContentId)
+                            .containsExactly(10L, 11L);
+                    assertThat(frame.getDropped()).isEqualTo(1);
+                })
+                // the flush freed the buffer
+                .then(() -> assertThat(connection.offer(notification(13))).isTrue())
+                .then(connection::close)
+                .verifyComplete();
+    }
+
+    @Test
+    void framesThatDoNotFitTheQueueAreFoldedIntoTheNextDroppedCount() {
+        Connection connection = new Connection(1, 8, 1);
+        connection.offer(notification(10));
+        assertThat(connection.flush()).isTrue();
+        connection.offer(notification(11));
+        connection.offer(notification(12));
+
+        // The client has not read the first frame yet, so the second batch has nowhere to go
+        assertThat(connection.flush()).isFalse();
+
+        StepVerifier.create(connection.frames())
+                .assertNext(frame -> assertThat(frame.getNotifications()).extracting(Notification::getContentId)
+                        .containsExactly(10L))
+                .then(connection::flush)
+                .assertNext(frame -> {
+                    assertThat(frame.getNotifications()).isEmpty();
+                    assertThat(frame.getDropped()).isEqualTo(2);
+                })
+                .then(connection::close)
+                .verifyComplete();
+    }
+
+    @Test
+    void idleFlushEmitsNothing() {
+        Connection connection = new Connection(1, 8, 4);
+
+        StepVerifier.create(connection.frames())
+                .then(() -> assertThat(connection.flush()).isTrue())
+                .then(connection::close)
+                .verifyComplete();
+    }
+
+    private static Notification notification(long contentId) {
+        return new Notification("NEW_UPLOAD", 7L, contentId, "title", Instant.now());
+    }
+}
@@ -0,0 +1,97 @@
+package com.cdn.notification.fanout;
+
+import com.cdn.notification.dto.Notification;
+import com.cdn.notification.service.FollowService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FanoutServiceTest {
+
+    private static final long CREATOR = 7;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Long interval: frames are flushed by hand
+    private final ConnectionRegistry registry = new ConnectionRegistry(meterRegistry, 1, 4, 60_000);
+    private final FollowService followService = mock(FollowService.class);
+    private final FanoutService fanoutService = new FanoutService(registry, followService, meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void largeFollowingsAreCheckedAgainstConnectedUsers() {
+        Connection follower = registry.open(1);
+        registry.open(2);
+        when(followService.countFollowers(CREATOR)).thenReturn(Mono.just(1_000_000L));
+        when(followService.filterFollowers(eq(CREATOR), anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<Long> candidates = invocation.getArgument(1);
+                    assertThat(candidates).containsExactlyInAnyOrder(1L, 2L);
+                    return Flux.just(1L);
+                });
+
+        StepVerifier.create(fanoutService.fanout(upload())).verifyComplete();
+
+        verify(followService, never()).streamFollowers(anyLong());
+        assertThat(follower.offer(upload())).as("buffer of one already holds the upload").isFalse();
+        assertThat(registry.connectionsOf(2).iterator().next().offer(upload())).isTrue();
+        assertThat(meterRegistry.get("notification.fanout.recipients").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void smallFollowingsAreScannedAndFilteredToLocalConnections() {
+        Connection follower = registry.open(1);
+        registry.open(2);
+        registry.open(3);
+        when(followService.countFollowers(CREATOR)).thenReturn(Mono.just(2L));
+        when(followService.streamFollowers(CREATOR)).thenReturn(Flux.just(1L, 99L));
+
+        StepVerifier.create(fanoutService.fanout(upload())).verifyComplete();
+
+        verify(followService, never()).filterFollowers(anyLong(), anyCollection());
+        assertThat(follower.offer(upload())).isFalse();
+        assertThat(meterRegistry.get("notification.fanout.recipients").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void followersThatAreBehindCountAsDropped() {
+        Connection follower = registry.open(1);
+        follower.offer(upload());
+        when(followService.countFollowers(CREATOR)).thenReturn(Mono.just(1L));
+        when(followService.streamFollowers(CREATOR)).thenReturn(Flux.just(1L));
+
+        StepVerifier.create(fanoutService.fanout(upload())).verifyComplete();
+
+        assertThat(meterRegistry.get("notification.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsLookedUpWithoutConnections() {
+        StepVerifier.create(fanoutService.fanout(upload())).verifyComplete();
+
+        verifyNoInteractions(followService);
+    }
+
+    private static Notification upload() {
+        return new Notification("NEW_UPLOAD", CREATOR, 10L, "title", Instant.now());
+    }
+}
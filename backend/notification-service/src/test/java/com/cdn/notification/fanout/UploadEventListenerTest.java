@@ -0,0 +1,60 @@
+package com.cdn.notification.fanout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UploadEventListenerTest {
+
+    private final UploadEventListener listener = new UploadEventListener(
+            mock(ReactiveRedisConnectionFactory.class), mock(FanoutService.class), new ObjectMapper(), "content-events");
+
+    @Test
+    void publicUploadsBecomeNotifications() {
+        StepVerifier.create(listener.toNotification(record("CREATED",
+                        "{\"contentId\":10,\"userId\":7,\"title\":\"Clip\",\"isPublic\":true}")))
+                .assertNext(notification -> {
+                    assertThat(notification.getType()).isEqualTo("NEW_UPLOAD");
+                    assertThat(notification.getCreatorId()).isEqualTo(7L);
+                    assertThat(notification.getContentId()).isEqualTo(10L);
+                    assertThat(notification.getTitle()).isEqualTo("Clip");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void privateUploadsAreSkipped() {
+        StepVerifier.create(listener.toNotification(record("CREATED",
+                        "{\"contentId\":10,\"userId\":7,\"title\":\"Clip\",\"isPublic\":false}")))
+                .verifyComplete();
+    }
+
+    @Test
+    void otherEventTypesAreSkipped() {
+        StepVerifier.create(listener.toNotification(record("UPDATED",
+                        "{\"contentId\":10,\"userId\":7,\"title\":\"Clip\",\"isPublic\":true}")))
+                .verifyComplete();
+        StepVerifier.create(listener.toNotification(record("DELETED", "{\"contentId\":10,\"userId\":7}")))
+                .verifyComplete();
+    }
+
+    @Test
+    void unreadablePayloadIsAnError() {
+        StepVerifier.create(listener.toNotification(record("CREATED", "{not json")))
+                .verifyError();
+    }
+
+    private static MapRecord<String, String, String> record(String type, String payload) {
+        return StreamRecords.newRecord()
+                .in("content-events")
+                .ofMap(Map.of("type", type, "payload", payload));
+    }
+}
@@ -0,0 +1,95 @@
+package com.cdn.notification.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayIdentityFilterTest {
+
+    private static final String SECRET = "identitySecret";
+
+    private final GatewayIdentityFilter filter = new GatewayIdentityFilter(SECRET, 300_000);
+    private final GatewayIdentityVerifier signer = new GatewayIdentityVerifier(SECRET, 300_000);
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final WebFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @Test
+    void signedNumericUserIdIsExposedToHandlers() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(signed(
+                MockServerHttpRequest.get("/api/v1/notifications/stream"), "42"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded.get()).isNotNull();
+        assertThat((Long) forwarded.get().getAttribute(GatewayIdentityFilter.USER_ID_ATTRIBUTE)).isEqualTo(42L);
+    }
+
+    @Test
+    void missingUserIdIsUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.put("/api/v1/notifications/follows/7"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    void nonNumericUserIdIsUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(signed(
+                MockServerHttpRequest.delete("/api/v1/notifications/follows/7"), "alice"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void unsignedUserIdIsUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/notifications/ws").header("X-User-Id", "42"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void followerCountAndActuatorArePublic() {
+        filter.filter(MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/notifications/follows/7/count")), chain).block();
+        assertThat(forwarded.getAndSet(null)).isNotNull();
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health")), chain).block();
+        assertThat(forwarded.get()).isNotNull();
+    }
+
+    @Test
+    void parseUserIdRejectsBlankAndNonNumericValues() {
+        assertThat(GatewayIdentityFilter.parseUserId(null)).isNull();
+        assertThat(GatewayIdentityFilter.parseUserId(" ")).isNull();
+        assertThat(GatewayIdentityFilter.parseUserId("12abc")).isNull();
+        assertThat(GatewayIdentityFilter.parseUserId("12")).isEqualTo(12L);
+    }
+
+    private MockServerHttpRequest.BaseBuilder<?> signed(MockServerHttpRequest.BaseBuilder<?> request, String userId) {
+        long now = System.currentTimeMillis();
+        return request
+                .header("X-User-Id", userId)
+                .header("X-User-Name", "alice")
+                .header("X-User-Timestamp", Long.toString(now))
+                .header("X-User-Signature", signer.sign(userId, "alice", null, now));
+    }
+}
@@ -0,0 +1,57 @@
+package com.cdn.notification.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the gateway identity contract: HMAC-SHA256 over "userId\nusername\nroles\ntimestamp"
+ * (missing values as ""), Base64url without padding, accepted for five minutes. The gateway's
+ * IdentitySigner, the load-test signer and every service's verifier test the same vector,
+ * so a change to any one copy fails here instead of rejecting traffic in production.
+ */
+class GatewayIdentityVerifierTest {
+
+    private static final String SECRET = "gatewayIdentitySecret1234567890abcdef";
+    private static final long MAX_AGE_MILLIS = 300_000;
+    private static final long SIGNED_AT = 1_700_000_000_000L;
+
+    private final GatewayIdentityVerifier verifier = new GatewayIdentityVerifier(SECRET, MAX_AGE_MILLIS);
+
+    @Test
+    void signaturesMatchThePinnedVector() {
+        assertThat(verifier.sign("42", "alice", "USER,ADMIN", SIGNED_AT))
+                .isEqualTo("43xbKDK2gGahY6IqxDJxI1Il9suL7vt7zqo3rwAdTrk");
+        assertThat(verifier.sign(null, "content-service", "INTERNAL", SIGNED_AT))
+                .isEqualTo("HfZRiAivbgpxZ85qiz1-SVSbsIpbz8Gn6wDqt5LDsTM");
+    }
+
+    @Test
+    void signaturesAreAcceptedForFiveMinutes() {
+        long now = System.currentTimeMillis();
+
+        assertThat(isValidAt(now - 299_000)).isTrue();
+        assertThat(isValidAt(now - 301_000)).isFalse();
+        assertThat(isValidAt(now + 299_000)).isTrue();
+        assertThat(isValidAt(now + 301_000)).isFalse();
+    }
+
+    @Test
+    void anyChangedFieldInvalidatesTheSignature() {
+        long now = System.currentTimeMillis();
+        String signature = verifier.sign("42", "alice", "USER", now);
+        String timestamp = Long.toString(now);
+
+        assertThat(verifier.isValid("42", "alice", "USER", timestamp, signature)).isTrue();
+        assertThat(verifier.isValid("43", "alice", "USER", timestamp, signature)).isFalse();
+        assertThat(verifier.isValid("42", "mallory", "USER", timestamp, signature)).isFalse();
+        assertThat(verifier.isValid("42", "alice", "USER,ADMIN", timestamp, signature)).isFalse();
+        assertThat(verifier.isValid("42", "alice", "USER", Long.toString(now + 1), signature)).isFalse();
+        assertThat(verifier.isValid("42", "alice", "USER", timestamp, null)).isFalse();
+    }
+
+    private boolean isValidAt(long signedAt) {
+        return verifier.isValid("42", "alice", "USER", Long.toString(signedAt),
+                verifier.sign("42", "alice", "USER", signedAt));
+    }
+}
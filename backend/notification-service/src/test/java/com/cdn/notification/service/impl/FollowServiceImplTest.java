@@ -0,0 +1,79 @@
+package com.cdn.notification.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FollowServiceImplTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveSetOperations<String, String> setOperations;
+
+    @InjectMocks
+    private FollowServiceImpl followService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(followService, "pageSize", 2);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+    }
+
+    @Test
+    void candidatesAreCheckedWithOneSmismemberPerPage() {
+        Set<String> followers = Set.of("1", "3", "5");
+        List<Integer> pageSizes = new ArrayList<>();
+        when(setOperations.isMember(eq("followers:7"), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] page = (Object[]) invocation.getRawArguments()[1];
+            pageSizes.add(page.length);
+            Map<Object, Boolean> membership = new LinkedHashMap<>();
+            for (Object member : page) {
+                membership.put(member, followers.contains(member));
+            }
+            return Mono.just(membership);
+        });
+
+        StepVerifier.create(followService.filterFollowers(7L, List.of(1L, 2L, 3L, 4L, 5L)))
+                .expectNext(1L, 3L, 5L)
+                .verifyComplete();
+
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void followersAreScannedInPages() {
+        when(setOperations.scan(eq("followers:7"), any(ScanOptions.class))).thenReturn(Flux.just("1", "2"));
+
+        StepVerifier.create(followService.streamFollowers(7L))
+                .expectNext(1L, 2L)
+                .verifyComplete();
+
+        verify(setOperations).scan(eq("followers:7"), argThat(options -> options.getCount() == 2L));
+    }
+}
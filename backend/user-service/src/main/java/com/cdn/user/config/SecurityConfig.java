@@ -0,0 +1,40 @@
+package com.cdn.user.config;
+
+import com.cdn.user.security.GatewayAuthenticationFilter;
+import com.cdn.user.security.GatewayIdentityVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+
+@Configuration
+public class SecurityConfig {
+
+    // Authentication happens once at the API gateway; this service only trusts the
+    // identity headers it forwards, and only with the gateway's signature.
+    @Bean
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${gateway.identity.secret}") String identitySecret,
+            @Value("${gateway.identity.max-age-ms:300000}") long identityMaxAgeMillis) throws Exception {
+        GatewayIdentityVerifier identityVerifier = new GatewayIdentityVerifier(identitySecret, identityMaxAgeMillis);
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new GatewayAuthenticationFilter(identityVerifier), AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/**", "/api/v1/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/users/**").permitAll()
+                        .anyRequest().authenticated());
+        return http.build();
+    }
+}
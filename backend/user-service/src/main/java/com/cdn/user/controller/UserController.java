@@ -0,0 +1,43 @@
+package com.cdn.user.controller;
+
+import com.cdn.user.dto.UserProfileResponse;
+import com.cdn.user.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@CrossOrigin(origins = "*")
+public class UserController {
+
+    private static final int MAX_BATCH_SIZE = 200;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserProfileResponse> getProfile(@PathVariable Long id) {
+        UserProfileResponse response = userService.getProfile(id);
+        return ResponseEntity.ok(response);
+    }
+
+    // Batch lookup for other services rendering lists; unknown ids are simply absent from the result.
+    @GetMapping("/profiles")
+    public ResponseEntity<List<UserProfileResponse>> getProfiles(@RequestParam("ids") List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserProfileResponse> response = userService.getProfiles(distinctIds);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS))
+                .body(response);
+    }
+}
@@ -0,0 +1,14 @@
+package com.cdn.user.repository;
+
+import com.cdn.user.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+    
+    List<User> findByIdIn(Collection<Long> ids);
+}
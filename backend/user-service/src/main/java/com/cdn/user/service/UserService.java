@@ -0,0 +1,13 @@
+package com.cdn.user.service;
+
+import com.cdn.user.dto.UserProfileResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserService {
+    
+    UserProfileResponse getProfile(Long id);
+    
+    List<UserProfileResponse> getProfiles(Collection<Long> ids);
+}
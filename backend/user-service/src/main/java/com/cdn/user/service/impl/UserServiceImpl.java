@@ -0,0 +1,47 @@
+package com.cdn.user.service.impl;
+
+import com.cdn.user.dto.UserProfileResponse;
+import com.cdn.user.entity.User;
+import com.cdn.user.repository.UserRepository;
+import com.cdn.user.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class UserServiceImpl implements UserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public UserProfileResponse getProfile(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        return convertToProfile(user);
+    }
+
+    @Override
+    public List<UserProfileResponse> getProfiles(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findByIdIn(ids).stream()
+                .map(this::convertToProfile)
+                .collect(Collectors.toList());
+    }
+
+    private UserProfileResponse convertToProfile(User user) {
+        UserProfileResponse response = new UserProfileResponse();
+        response.setId(user.getId());
+        response.setUsername(user.getUsername());
+        response.setDisplayName(user.getDisplayName() != null ? user.getDisplayName() : user.getUsername());
+        response.setAvatarUrl(user.getAvatarUrl());
+        return response;
+    }
+}
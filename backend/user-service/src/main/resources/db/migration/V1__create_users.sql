@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGSERIAL PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL UNIQUE,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    display_name  VARCHAR(255),
+    avatar_url    VARCHAR(255),
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP
+);
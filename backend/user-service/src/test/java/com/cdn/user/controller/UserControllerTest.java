@@ -0,0 +1,94 @@
+package com.cdn.user.controller;
+
+import com.cdn.user.config.SecurityConfig;
+import com.cdn.user.dto.UserProfileResponse;
+import com.cdn.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class,
+        properties = "gateway.identity.secret=gatewayIdentitySecret1234567890abcdef")
+@Import(SecurityConfig.class)
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    // Needed because @EnableJpaAuditing sits on the application class.
+    @MockBean
+    private JpaMetamodelMappingContext jpaMappingContext;
+
+    @Test
+    void profilesAreReturnedWithShortPublicCaching() throws Exception {
+        when(userService.getProfiles(Set.of(1L, 2L))).thenReturn(List.of(profile(1L)));
+
+        mockMvc.perform(get("/api/v1/users/profiles").param("ids", "1,2,1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].username").value("user1"));
+    }
+
+    @Test
+    void twoHundredDistinctIdsAreAccepted() throws Exception {
+        when(userService.getProfiles(anyCollection())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/users/profiles").param("ids", ids(200)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void duplicatesDoNotCountTowardsTheCap() throws Exception {
+        when(userService.getProfiles(anyCollection())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/users/profiles").param("ids", ids(200) + ",1,2,3"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void moreThanTwoHundredDistinctIdsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/users/profiles").param("ids", ids(201)))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getProfiles(any());
+    }
+
+    private static String ids(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    private static UserProfileResponse profile(Long id) {
+        UserProfileResponse profile = new UserProfileResponse();
+        profile.setId(id);
+        profile.setUsername("user" + id);
+        profile.setDisplayName("user" + id);
+        return profile;
+    }
+}
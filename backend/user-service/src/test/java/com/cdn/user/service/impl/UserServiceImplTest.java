@@ -0,0 +1,66 @@
+package com.cdn.user.service.impl;
+
+import com.cdn.user.dto.UserProfileResponse;
+import com.cdn.user.entity.User;
+import com.cdn.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void unknownIdsAreLeftOutOfTheBatch() {
+        Set<Long> ids = Set.of(1L, 404L);
+        when(userRepository.findByIdIn(ids)).thenReturn(List.of(user(1L, "alice", null)));
+
+        List<UserProfileResponse> profiles = userService.getProfiles(ids);
+
+        assertThat(profiles).extracting(UserProfileResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    void displayNameFallsBackToUsername() {
+        Set<Long> ids = Set.of(1L, 2L);
+        when(userRepository.findByIdIn(ids)).thenReturn(List.of(
+                user(1L, "alice", "Alice A."), user(2L, "bob", null)));
+
+        List<UserProfileResponse> profiles = userService.getProfiles(ids);
+
+        assertThat(profiles).extracting(UserProfileResponse::getDisplayName)
+                .containsExactly("Alice A.", "bob");
+    }
+
+    @Test
+    void emptyBatchSkipsTheDatabase() {
+        assertThat(userService.getProfiles(Set.of())).isEmpty();
+
+        verify(userRepository, never()).findByIdIn(any());
+    }
+
+    private static User user(Long id, String username, String displayName) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setDisplayName(displayName);
+        return user;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cdn.loadtest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Signs identity headers the way the API gateway does, for direct mode where requests
+ * skip the gateway. Not thread-safe, like the workload that owns it.
+ */
+public class IdentitySigner {
+
+    private final Mac mac;
+
+    public IdentitySigner(String secret) {
+        try {
+            mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    public String sign(String userId, String username, String roles, long timestampMillis) {
+        String payload = String.join("\n",
+                nullToEmpty(userId), nullToEmpty(username), nullToEmpty(roles), Long.toString(timestampMillis));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
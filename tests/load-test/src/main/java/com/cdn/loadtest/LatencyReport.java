@@ -0,0 +1,182 @@
+package com.cdn.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error accounting per operation. Latencies are in microseconds and measured
+ * from each request's scheduled start time, not the time it was actually sent, so a
+ * stalled system shows up as queueing delay instead of being hidden (coordinated omission).
+ * Two distributions are kept: successful requests only, and all requests, where errors
+ * count at their latency, timeouts at no less than the request timeout and requests
+ * dropped for being over the in-flight limit at the request timeout. SLOs are judged on
+ * all requests, so failing fast cannot make the latency look better.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final long timeoutMicros;
+    private final Map<Operation, Histogram> successHistograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> allHistograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> timeouts = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+    private final Recorder intervalRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+
+    public LatencyReport(Duration requestTimeout) {
+        this.timeoutMicros = Math.min(TimeUnit.NANOSECONDS.toMicros(requestTimeout.toNanos()), HIGHEST_TRACKABLE_MICROS);
+        for (Operation operation : Operation.values()) {
+            successHistograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            allHistograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            timeouts.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * @param measured false during warm-up: the latency only goes to the interval log
+     */
+    public void recordSuccess(Operation operation, long latencyNanos, boolean measured) {
+        long micros = micros(latencyNanos);
+        record(operation, micros, measured);
+        if (measured) {
+            successHistograms.get(operation).recordValue(micros);
+        }
+    }
+
+    /** A request that failed or got a non-2xx response. */
+    public void recordError(Operation operation, long latencyNanos, boolean measured) {
+        record(operation, micros(latencyNanos), measured);
+        if (measured) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /** A request that got no response within the request timeout. */
+    public void recordTimeout(Operation operation, long latencyNanos, boolean measured) {
+        record(operation, Math.max(micros(latencyNanos), timeoutMicros), measured);
+        if (measured) {
+            timeouts.get(operation).increment();
+        }
+    }
+
+    /** A request that was due but not sent because too many were already outstanding. */
+    public void recordDropped(Operation operation, boolean measured) {
+        record(operation, timeoutMicros, measured);
+        if (measured) {
+            dropped.get(operation).increment();
+        }
+    }
+
+    public Histogram intervalHistogram(Histogram recycle) {
+        return intervalRecorder.getIntervalHistogram(recycle);
+    }
+
+    /**
+     * Prints the summary, writes .hgrm percentile files per operation for all requests and
+     * for successful ones, and returns the SLO breaches, empty if the run passed.
+     */
+    public List<String> evaluate(LoadTestConfig config, double measuredSeconds, PrintStream out) throws IOException {
+        Path reportDir = config.getReportDir();
+        Files.createDirectories(reportDir);
+
+        List<String> breaches = new ArrayList<>();
+        long totalRequests = 0;
+        long totalSuccesses = 0;
+
+        out.printf("%n%-10s %-8s %9s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "sample", "requests", "errors", "timeouts", "dropped",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram success = successHistograms.get(operation);
+            Histogram all = allHistograms.get(operation);
+            totalRequests += all.getTotalCount();
+            totalSuccesses += success.getTotalCount();
+            if (all.getTotalCount() == 0) {
+                continue;
+            }
+
+            out.printf("%-10s %-8s %9d %8s %8s %8s %s%n", operation.key(), "success",
+                    success.getTotalCount(), "", "", "", percentiles(success));
+            out.printf("%-10s %-8s %9d %8d %8d %8d %s%n", operation.key(), "all", all.getTotalCount(),
+                    errors.get(operation).sum(), timeouts.get(operation).sum(), dropped.get(operation).sum(),
+                    percentiles(all));
+
+            writePercentiles(reportDir.resolve(operation.key() + ".hgrm"), all);
+            writePercentiles(reportDir.resolve(operation.key() + "-success.hgrm"), success);
+
+            long p99Budget = config.getP99Millis(operation);
+            if (millis(all, 99) > p99Budget) {
+                breaches.add(String.format("%s p99 %.1f ms over all requests exceeds %d ms",
+                        operation.key(), millis(all, 99), p99Budget));
+            }
+        }
+
+        double throughput = totalSuccesses / measuredSeconds;
+        double errorRate = totalRequests == 0 ? 0 : (double) (totalRequests - totalSuccesses) / totalRequests;
+        out.printf("%nthroughput %.1f req/s (target %.1f), error rate %.2f%%%n",
+                throughput, config.getRate(), errorRate * 100);
+        out.println("percentile distributions: " + reportDir.toAbsolutePath());
+
+        if (throughput < config.getRate() * config.getThroughputRatio()) {
+            breaches.add(String.format("throughput %.1f req/s below %.0f%% of target %.1f req/s",
+                    throughput, config.getThroughputRatio() * 100, config.getRate()));
+        }
+        if (errorRate > config.getMaxErrorRate()) {
+            breaches.add(String.format("error rate %.2f%% exceeds %.2f%%",
+                    errorRate * 100, config.getMaxErrorRate() * 100));
+        }
+        return breaches;
+    }
+
+    public static HistogramLogWriter intervalLog(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        HistogramLogWriter writer = new HistogramLogWriter(file.toFile());
+        writer.outputLogFormatVersion();
+        writer.outputLegend();
+        return writer;
+    }
+
+    private void record(Operation operation, long micros, boolean measured) {
+        intervalRecorder.recordValue(micros);
+        if (measured) {
+            allHistograms.get(operation).recordValue(micros);
+        }
+    }
+
+    private static long micros(long latencyNanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return String.format("%9.1f %9.1f %9.1f %9.1f %9.1f",
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static void writePercentiles(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.cdn.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open-model load test against the docker-compose stack. Requests are started on a fixed
+ * schedule at the configured rate, independent of how fast earlier ones complete, so a
+ * slower system accumulates in-flight requests and queueing delay like it would in
+ * production. Exits with status 1 if a p99, throughput or error-rate SLO is breached.
+ *
+ * <pre>
+ *   docker-compose up -d
+ *   mvn -f tests/load-test/pom.xml package
+ *   java -jar tests/load-test/target/load-test-1.0.0.jar --rate=200 --duration-seconds=300
+ * </pre>
+ *
+ * Use {@code --target=direct --base-url=http://localhost:8081} to load content-service
+ * without the gateway, for separating gateway and content-service changes.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Workload workload = new Workload(config);
+        System.out.printf("Seeding %d catalog items via %s%n", config.getCatalogSize(), config.getBaseUrl());
+        workload.seedCatalog(client, random);
+
+        LatencyReport report = new LatencyReport(config.getRequestTimeout());
+        HistogramLogWriter intervalLog = LatencyReport.intervalLog(config.getReportDir().resolve("latency.hlog"));
+        ScheduledExecutorService logger = Executors.newSingleThreadScheduledExecutor();
+        long logStart = System.currentTimeMillis();
+        intervalLog.outputStartTime(logStart);
+        Histogram[] recycle = new Histogram[1];
+        logger.scheduleAtFixedRate(() -> {
+            recycle[0] = report.intervalHistogram(recycle[0]);
+            intervalLog.outputIntervalHistogram(recycle[0]);
+        }, 1, 1, TimeUnit.SECONDS);
+
+        System.out.printf("Running %.1f req/s for %ds (first %ds not measured)%n",
+                config.getRate(), config.getDuration().toSeconds(), config.getWarmup().toSeconds());
+        run(config, client, workload, random, report);
+
+        logger.shutdown();
+        logger.awaitTermination(2, TimeUnit.SECONDS);
+        recycle[0] = report.intervalHistogram(recycle[0]);
+        intervalLog.outputIntervalHistogram(recycle[0]);
+        intervalLog.close();
+
+        double measuredSeconds = config.getDuration().minus(config.getWarmup()).toMillis() / 1000.0;
+        List<String> breaches = report.evaluate(config, measuredSeconds, System.out);
+        if (!breaches.isEmpty()) {
+            System.out.println();
+            breaches.forEach(breach -> System.out.println("SLO BREACH: " + breach));
+            System.exit(1);
+        }
+        System.out.println("\nAll SLOs met");
+    }
+
+    private static void run(LoadTestConfig config, HttpClient client, Workload workload,
+                            SplittableRandom random, LatencyReport report) throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(config.getRate(), config.getDuration(), config.getWarmup());
+        scheduler.run((scheduled, measured) -> {
+            Operation operation = workload.nextOperation(random);
+            HttpRequest request = workload.request(operation, random);
+            if (inFlight.get() >= config.getMaxInFlight()) {
+                report.recordDropped(operation, measured);
+                return;
+            }
+
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        if (error == null && response.statusCode() / 100 == 2) {
+                            report.recordSuccess(operation, latency, measured);
+                        } else if (isTimeout(error)) {
+                            report.recordTimeout(operation, latency, measured);
+                        } else {
+                            report.recordError(operation, latency, measured);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        });
+
+        // The client times requests out, so everything sent completes within one timeout.
+        long drainDeadline = System.nanoTime() + 2 * config.getRequestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests still outstanding after the run are not in the report%n", inFlight.get());
+        }
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException;
+    }
+}
@@ -0,0 +1,114 @@
+package com.cdn.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Settings from loadtest.properties, overridden by {@code --key=value} arguments.
+ */
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    public LoadTestConfig(String[] args) throws IOException {
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            properties.setProperty(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    public boolean isDirect() {
+        return "direct".equals(get("target"));
+    }
+
+    public String getBaseUrl() {
+        return get("base-url").replaceAll("/+$", "");
+    }
+
+    public String getJwtSecret() {
+        return get("jwt.secret");
+    }
+
+    public String getIdentitySecret() {
+        return get("gateway.identity.secret");
+    }
+
+    public double getRate() {
+        return Double.parseDouble(get("rate"));
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(getLong("duration-seconds"));
+    }
+
+    public Duration getWarmup() {
+        return Duration.ofSeconds(getLong("warmup-seconds"));
+    }
+
+    public int getMaxInFlight() {
+        return (int) getLong("max-in-flight");
+    }
+
+    public Duration getRequestTimeout() {
+        return Duration.ofMillis(getLong("request-timeout-ms"));
+    }
+
+    public long getSeed() {
+        return getLong("seed");
+    }
+
+    public int getUsers() {
+        return (int) getLong("users");
+    }
+
+    public int getCatalogSize() {
+        return (int) getLong("catalog.size");
+    }
+
+    public double getZipfExponent() {
+        return Double.parseDouble(get("catalog.zipf-exponent"));
+    }
+
+    public int getWeight(Operation operation) {
+        return (int) getLong("mix." + operation.key());
+    }
+
+    public double getThroughputRatio() {
+        return Double.parseDouble(get("slo.throughput-ratio"));
+    }
+
+    public double getMaxErrorRate() {
+        return Double.parseDouble(get("slo.error-rate"));
+    }
+
+    public long getP99Millis(Operation operation) {
+        return getLong("slo.p99-ms." + operation.key());
+    }
+
+    public Path getReportDir() {
+        return Path.of(get("report-dir"));
+    }
+
+    private long getLong(String key) {
+        return Long.parseLong(get(key));
+    }
+
+    private String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting: " + key);
+        }
+        return value.trim();
+    }
+}
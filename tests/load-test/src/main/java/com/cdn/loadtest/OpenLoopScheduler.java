@@ -0,0 +1,88 @@
+package com.cdn.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fires a task at a constant rate for a fixed duration. Each firing is due at
+ * {@code start + i / rate}, whatever the earlier ones cost; a firing that is late because
+ * the caller was slow runs immediately with its original due time, so the delay shows up
+ * in the latency measured from it rather than silently lowering the offered rate.
+ */
+public class OpenLoopScheduler {
+
+    /** Source of time, replaceable so the schedule can be tested without waiting. */
+    public interface Clock {
+
+        long nanoTime();
+
+        void parkNanos(long nanos);
+    }
+
+    /** Work done for one firing. */
+    public interface Task {
+
+        /**
+         * @param scheduledNanos the clock time this firing was due
+         * @param measured false while the run is still in its warm-up period
+         */
+        void run(long scheduledNanos, boolean measured);
+    }
+
+    static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void parkNanos(long nanos) {
+            LockSupport.parkNanos(nanos);
+        }
+    };
+
+    private final double rate;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final Clock clock;
+
+    public OpenLoopScheduler(double rate, Duration duration, Duration warmup) {
+        this(rate, duration, warmup, SYSTEM_CLOCK);
+    }
+
+    OpenLoopScheduler(double rate, Duration duration, Duration warmup, Clock clock) {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Rate must be positive but was " + rate);
+        }
+        this.rate = rate;
+        this.durationNanos = duration.toNanos();
+        this.warmupNanos = warmup.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the schedule to the end on the calling thread.
+     *
+     * @return the number of firings
+     */
+    public long run(Task task) {
+        double nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+        long start = clock.nanoTime();
+        long fired = 0;
+        for (long i = 0; ; i++) {
+            // Computed from the start every time so rounding does not accumulate into drift.
+            long offset = (long) (i * nanosPerSecond / rate);
+            if (offset >= durationNanos) {
+                return fired;
+            }
+            long scheduled = start + offset;
+            long wait;
+            while ((wait = scheduled - clock.nanoTime()) > 0) {
+                clock.parkNanos(wait);
+            }
+            task.run(scheduled, offset >= warmupNanos);
+            fired++;
+        }
+    }
+}
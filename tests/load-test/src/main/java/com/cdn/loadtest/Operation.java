@@ -0,0 +1,14 @@
+package com.cdn.loadtest;
+
+public enum Operation {
+    VIEW,
+    DOWNLOAD,
+    LISTING,
+    SEARCH,
+    POPULAR,
+    UPLOAD;
+
+    public String key() {
+        return name().toLowerCase();
+    }
+}
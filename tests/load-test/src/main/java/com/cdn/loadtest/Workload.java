@@ -0,0 +1,210 @@
+package com.cdn.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds the requests of the operation mix. Reads of individual items pick the item by
+ * Zipfian popularity over a catalog uploaded before the run; everything is driven by one
+ * seeded random source, so the same settings replay the same request sequence. Not
+ * thread-safe; requests are built on the scheduling thread only.
+ */
+public class Workload {
+
+    private static final String[] WORDS = {
+            "travel", "cooking", "music", "sports", "science", "history", "coding", "nature",
+            "gaming", "finance", "design", "fitness", "movies", "art", "space", "ocean"
+    };
+    private static final String[] CONTENT_TYPES = {"video", "audio", "image", "document"};
+    private static final String[] CODECS = {"h264", "h265", "vp9", "av1"};
+    private static final int EPISODES_PER_SERIES = 10;
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> authorizations = new ArrayList<>();
+    private final List<Long> catalog = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final Operation[] operations = Operation.values();
+    private final byte[] filePayload = new byte[4096];
+    private final IdentitySigner identitySigner;
+    private ZipfDistribution popularity;
+    private long uploads;
+
+    public Workload(LoadTestConfig config) {
+        this.config = config;
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getWeight(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix weights must add up to more than zero");
+        }
+        new SplittableRandom(config.getSeed()).nextBytes(filePayload);
+
+        this.identitySigner = new IdentitySigner(config.getIdentitySecret());
+
+        Key key = Keys.hmacShaKeyFor(config.getJwtSecret().getBytes(StandardCharsets.UTF_8));
+        Date expiry = new Date(System.currentTimeMillis() + 24 * 3600 * 1000L);
+        for (int user = 1; user <= config.getUsers(); user++) {
+            if (config.isDirect()) {
+                authorizations.add(String.valueOf(user));
+            } else {
+                authorizations.add("Bearer " + Jwts.builder()
+                        .setSubject("loadtest-" + user)
+                        .claim("userId", user)
+                        .claim("roles", List.of("USER"))
+                        .setExpiration(expiry)
+                        .signWith(key, SignatureAlgorithm.HS256)
+                        .compact());
+            }
+        }
+    }
+
+    /**
+     * Uploads the catalog the read operations draw from, in a random popularity order.
+     */
+    public void seedCatalog(HttpClient client, SplittableRandom random) throws IOException, InterruptedException {
+        for (int i = 0; i < config.getCatalogSize(); i++) {
+            HttpResponse<String> response = client.send(upload(random), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding upload failed with HTTP " + response.statusCode()
+                        + ": " + response.body());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            catalog.add(body.get("id").asLong());
+        }
+        // Shuffle so popularity rank is unrelated to upload order (and thus to id and recency).
+        for (int i = catalog.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            catalog.set(i, catalog.set(j, catalog.get(i)));
+        }
+        popularity = new ZipfDistribution(catalog.size(), config.getZipfExponent());
+    }
+
+    public Operation nextOperation(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public HttpRequest request(Operation operation, SplittableRandom random) {
+        switch (operation) {
+            case VIEW:
+                return get("/api/v1/content/" + popularItem(random), random);
+            case DOWNLOAD:
+                return authorized(HttpRequest.newBuilder(uri("/api/v1/content/" + popularItem(random) + "/download"))
+                        .POST(HttpRequest.BodyPublishers.noBody()), random);
+            case LISTING:
+                String typeFilter = random.nextInt(4) == 0
+                        ? "&contentType=" + CONTENT_TYPES[random.nextInt(CONTENT_TYPES.length)]
+                        : "";
+                return get("/api/v1/content?page=" + random.nextInt(5) + "&size=20" + typeFilter, random);
+            case SEARCH:
+                return get("/api/v1/content/search?query=" + WORDS[random.nextInt(WORDS.length)] + "&size=20", random);
+            case POPULAR:
+                return get("/api/v1/content/popular?limit=10", random);
+            case UPLOAD:
+                return upload(random);
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private long popularItem(SplittableRandom random) {
+        return catalog.get(popularity.sample(random));
+    }
+
+    private HttpRequest get(String path, SplittableRandom random) {
+        return authorized(HttpRequest.newBuilder(uri(path)).GET(), random);
+    }
+
+    private HttpRequest upload(SplittableRandom random) {
+        long sequence = uploads++;
+        int user = random.nextInt(authorizations.size());
+        String first = WORDS[random.nextInt(WORDS.length)];
+        String second = WORDS[random.nextInt(WORDS.length)];
+        String metadata = String.format(
+                "{\"series\":\"%s-%d\",\"episode\":%d,\"duration\":%d,\"codec\":\"%s\"}",
+                first, sequence / EPISODES_PER_SERIES % 50, sequence % EPISODES_PER_SERIES + 1,
+                30 + random.nextInt(3600), CODECS[random.nextInt(CODECS.length)]);
+
+        String boundary = "----loadtest" + Long.toHexString(random.nextLong());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writePart(body, boundary, "title", first + " " + second + " " + sequence);
+        writePart(body, boundary, "description", "Load test item about " + first + " and " + second);
+        writePart(body, boundary, "contentType", CONTENT_TYPES[random.nextInt(CONTENT_TYPES.length)]);
+        writePart(body, boundary, "userId", String.valueOf(user + 1));
+        writePart(body, boundary, "tags", first);
+        writePart(body, boundary, "tags", second);
+        writePart(body, boundary, "isPublic", "true");
+        writePart(body, boundary, "metadata", metadata);
+        writeBytes(body, "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"item-" + sequence + ".bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n");
+        body.writeBytes(filePayload);
+        writeBytes(body, "\r\n--" + boundary + "--\r\n");
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri("/api/v1/content/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+        return authorize(builder, user);
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder, SplittableRandom random) {
+        return authorize(builder, random.nextInt(authorizations.size()));
+    }
+
+    private HttpRequest authorize(HttpRequest.Builder builder, int user) {
+        builder.timeout(config.getRequestTimeout());
+        if (config.isDirect()) {
+            // What the gateway forwards after verifying a token, signed the way it signs them
+            String userId = authorizations.get(user);
+            String username = "loadtest-" + userId;
+            long timestamp = System.currentTimeMillis();
+            builder.header("X-User-Id", userId)
+                    .header("X-User-Name", username)
+                    .header("X-User-Roles", "USER")
+                    .header("X-User-Timestamp", Long.toString(timestamp))
+                    .header("X-User-Signature", identitySigner.sign(userId, username, "USER", timestamp));
+        } else {
+            builder.header("Authorization", authorizations.get(user));
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(config.getBaseUrl() + path);
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String name, String value) {
+        writeBytes(body, "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n");
+    }
+
+    private static void writeBytes(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,24 @@
+package com.cdn.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Same pinned vector as the gateway's IdentitySignerTest and the services' verifier tests,
+ * so direct-mode runs keep signing headers the services accept.
+ */
+class IdentitySignerTest {
+
+    private static final long SIGNED_AT = 1_700_000_000_000L;
+
+    @Test
+    void signaturesMatchThePinnedVector() {
+        IdentitySigner signer = new IdentitySigner("gatewayIdentitySecret1234567890abcdef");
+
+        assertThat(signer.sign("42", "alice", "USER,ADMIN", SIGNED_AT))
+                .isEqualTo("43xbKDK2gGahY6IqxDJxI1Il9suL7vt7zqo3rwAdTrk");
+        assertThat(signer.sign(null, "content-service", "INTERNAL", SIGNED_AT))
+                .isEqualTo("HfZRiAivbgpxZ85qiz1-SVSbsIpbz8Gn6wDqt5LDsTM");
+    }
+}
@@ -0,0 +1,72 @@
+package com.cdn.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyReportTest {
+
+    @TempDir
+    Path reportDir;
+
+    @Test
+    void failuresCountInAllRequestPercentilesButNotSuccessOnes() throws IOException {
+        LatencyReport report = new LatencyReport(Duration.ofSeconds(10));
+        for (int i = 0; i < 97; i++) {
+            report.recordSuccess(Operation.VIEW, TimeUnit.MILLISECONDS.toNanos(5), true);
+        }
+        report.recordError(Operation.VIEW, TimeUnit.MILLISECONDS.toNanos(1), true);
+        report.recordTimeout(Operation.VIEW, TimeUnit.MILLISECONDS.toNanos(9000), true);
+        report.recordDropped(Operation.VIEW, true);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<String> breaches = report.evaluate(config(), 10, new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        String summary = output.toString(StandardCharsets.UTF_8);
+        assertThat(summary).containsPattern("view\\s+success\\s+97\\s+5\\.0\\s+5\\.0\\s+5\\.0\\s+5\\.0\\s+5\\.0");
+        assertThat(summary).containsPattern("view\\s+all\\s+100\\s+1\\s+1\\s+1\\s+");
+        assertThat(breaches).anySatisfy(breach -> assertThat(breach).startsWith("view p99 10"));
+        assertThat(breaches).anySatisfy(breach -> assertThat(breach).startsWith("error rate 3.00%"));
+        assertThat(reportDir.resolve("view.hgrm")).exists();
+        assertThat(reportDir.resolve("view-success.hgrm")).exists();
+    }
+
+    @Test
+    void warmupRequestsOnlyGoToIntervalLog() throws IOException {
+        LatencyReport report = new LatencyReport(Duration.ofSeconds(10));
+        report.recordSuccess(Operation.SEARCH, TimeUnit.MILLISECONDS.toNanos(5), false);
+        report.recordError(Operation.SEARCH, TimeUnit.MILLISECONDS.toNanos(5), false);
+        report.recordDropped(Operation.SEARCH, false);
+
+        assertThat(report.intervalHistogram(null).getTotalCount()).isEqualTo(3);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        report.evaluate(config(), 10, new PrintStream(output, true, StandardCharsets.UTF_8));
+        assertThat(output.toString(StandardCharsets.UTF_8)).doesNotContain("search");
+    }
+
+    @Test
+    void passingRunHasNoBreaches() throws IOException {
+        LatencyReport report = new LatencyReport(Duration.ofSeconds(10));
+        for (int i = 0; i < 1000; i++) {
+            report.recordSuccess(Operation.VIEW, TimeUnit.MILLISECONDS.toNanos(5), true);
+        }
+
+        List<String> breaches = report.evaluate(config(), 10, new PrintStream(new ByteArrayOutputStream()));
+
+        assertThat(breaches).isEmpty();
+    }
+
+    private LoadTestConfig config() throws IOException {
+        return new LoadTestConfig(new String[] {"--report-dir=" + reportDir, "--rate=100"});
+    }
+}
@@ -0,0 +1,100 @@
+package com.cdn.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenLoopSchedulerTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    void firesAtConstantRateForDuration() {
+        FakeClock clock = new FakeClock();
+        List<Long> scheduled = new ArrayList<>();
+        List<Long> startedAt = new ArrayList<>();
+
+        long fired = new OpenLoopScheduler(10, Duration.ofSeconds(1), Duration.ZERO, clock)
+                .run((due, measured) -> {
+                    scheduled.add(due - START);
+                    startedAt.add(clock.now - START);
+                });
+
+        assertThat(fired).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(scheduled.get(i)).isEqualTo(i * 100_000_000L);
+        }
+        assertThat(startedAt).isEqualTo(scheduled);
+    }
+
+    @Test
+    void slowTaskDoesNotPushBackLaterFirings() {
+        FakeClock clock = new FakeClock();
+        List<Long> scheduled = new ArrayList<>();
+        List<Long> lateness = new ArrayList<>();
+
+        new OpenLoopScheduler(10, Duration.ofSeconds(1), Duration.ZERO, clock).run((due, measured) -> {
+            scheduled.add(due - START);
+            lateness.add(clock.now - due);
+            if (scheduled.size() == 3) {
+                // A stall of 350 ms: the next three firings are overdue and run back to back.
+                clock.now += 350_000_000L;
+            }
+        });
+
+        assertThat(scheduled).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(scheduled.get(i)).isEqualTo(i * 100_000_000L);
+        }
+        assertThat(lateness.subList(3, 6)).containsExactly(250_000_000L, 150_000_000L, 50_000_000L);
+        assertThat(lateness.subList(6, 10)).containsOnly(0L);
+    }
+
+    @Test
+    void firingsDuringWarmupAreNotMeasured() {
+        List<Boolean> measured = new ArrayList<>();
+
+        new OpenLoopScheduler(4, Duration.ofSeconds(2), Duration.ofSeconds(1), new FakeClock())
+                .run((due, isMeasured) -> measured.add(isMeasured));
+
+        assertThat(measured).containsExactly(false, false, false, false, true, true, true, true);
+    }
+
+    @Test
+    void fractionalIntervalsDoNotDrift() {
+        FakeClock clock = new FakeClock();
+        List<Long> scheduled = new ArrayList<>();
+
+        long fired = new OpenLoopScheduler(3, Duration.ofSeconds(100), Duration.ZERO, clock)
+                .run((due, measured) -> scheduled.add(due - START));
+
+        assertThat(fired).isEqualTo(300);
+        assertThat(scheduled.get(299)).isEqualTo(99_666_666_666L);
+    }
+
+    @Test
+    void rejectsNonPositiveRate() {
+        assertThatThrownBy(() -> new OpenLoopScheduler(0, Duration.ofSeconds(1), Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class FakeClock implements OpenLoopScheduler.Clock {
+
+        private long now = START;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void parkNanos(long nanos) {
+            now += nanos;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cdn.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ZipfDistributionTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void rankFrequenciesFollowPowerLaw() {
+        int n = 100;
+        ZipfDistribution distribution = new ZipfDistribution(n, 1.0);
+        int[] counts = sample(distribution, n, new SplittableRandom(42));
+
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+        for (int rank : new int[] {0, 1, 4, 9, 99}) {
+            double expected = 1.0 / ((rank + 1) * harmonic);
+            assertThat((double) counts[rank] / SAMPLES).as("rank %d", rank).isCloseTo(expected, within(0.01));
+        }
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[9]);
+    }
+
+    @Test
+    void zeroExponentIsUniform() {
+        int n = 10;
+        int[] counts = sample(new ZipfDistribution(n, 0.0), n, new SplittableRandom(7));
+
+        for (int count : counts) {
+            assertThat((double) count / SAMPLES).isCloseTo(0.1, within(0.01));
+        }
+    }
+
+    @Test
+    void samplesStayInRange() {
+        ZipfDistribution distribution = new ZipfDistribution(3, 2.0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(distribution.sample(random)).isBetween(0, 2);
+        }
+        assertThat(new ZipfDistribution(1, 1.0).sample(random)).isZero();
+    }
+
+    @Test
+    void sameSeedGivesSameSequence() {
+        ZipfDistribution distribution = new ZipfDistribution(500, 1.0);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(distribution.sample(first)).isEqualTo(distribution.sample(second));
+        }
+    }
+
+    @Test
+    void rejectsEmptyCatalog() {
+        assertThatThrownBy(() -> new ZipfDistribution(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int[] sample(ZipfDistribution distribution, int n, SplittableRandom random) {
+        int[] counts = new int[n];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,151 @@
+#!/bin/bash
+
+# Startup benchmark for the autoscaled services (api-gateway, content-service)
+# Restarts each service container several times and measures:
+#   - time to ready: docker start until /actuator/health/readiness returns 200
+#   - first request: latency of the first API call after readiness, which must return 2xx
+# Exits non-zero if a median exceeds its budget in tests/startup-budget.properties, or if
+# a service has no budget. Budgets are targets until --record has measured them on the runner.
+#
+# Usage: tests/startup-benchmark.sh [--runs N] [--record] [service...]
+#   --record       write the measured medians (+20% headroom) back as the new budgets
+# Requires GNU date, curl and docker-compose; postgres and redis are started if needed.
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+RUNS=5
+RECORD=false
+SERVICES=()
+BUDGET_FILE=tests/startup-budget.properties
+
+while [ $# -gt 0 ]; do
+    case $1 in
+        --runs) RUNS=$2; shift 2 ;;
+        --record) RECORD=true; shift ;;
+        *) SERVICES+=("$1"); shift ;;
+    esac
+done
+[ ${#SERVICES[@]} -eq 0 ] && SERVICES=(content-service api-gateway)
+
+COMPOSE="docker-compose -f docker-compose.yml"
+
+service_port() {
+    case $1 in
+        api-gateway) echo 8080 ;;
+        content-service) echo 8081 ;;
+        *) echo "ERROR: no benchmark defined for $1" >&2; exit 1 ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+budget() {
+    grep "^$1=" "$BUDGET_FILE" 2>/dev/null | cut -d= -f2
+}
+
+set_budget() {
+    local key=$1 value=$2
+    if grep -q "^$key=" "$BUDGET_FILE"; then
+        sed -i "s/^$key=.*/$key=$value/" "$BUDGET_FILE"
+    else
+        echo "$key=$value" >> "$BUDGET_FILE"
+    fi
+}
+
+echo "Building images for: ${SERVICES[*]}"
+$COMPOSE build "${SERVICES[@]}"
+$COMPOSE up -d postgres redis
+# The gateway's first request is routed to content-service, so keep it running
+$COMPOSE up -d content-service "${SERVICES[@]}"
+
+FAILED=0
+
+for service in "${SERVICES[@]}"; do
+    port=$(service_port "$service")
+    ready_times=()
+    first_times=()
+
+    # One unmeasured start so Flyway migrations and image layers are out of the way
+    $COMPOSE stop -t 10 "$service" >/dev/null 2>&1
+    $COMPOSE start "$service" >/dev/null 2>&1
+    until curl -sf "http://localhost:$port/actuator/health/readiness" >/dev/null 2>&1; do sleep 0.5; done
+
+    for run in $(seq 1 "$RUNS"); do
+        $COMPOSE stop -t 10 "$service" >/dev/null 2>&1
+
+        start=$(now_ms)
+        $COMPOSE start "$service" >/dev/null 2>&1
+        until curl -sf "http://localhost:$port/actuator/health/readiness" >/dev/null 2>&1; do
+            sleep 0.01
+            if [ $(( $(now_ms) - start )) -gt 120000 ]; then
+                echo "ERROR: $service not ready after 120s"
+                exit 1
+            fi
+        done
+        ready=$(( $(now_ms) - start ))
+
+        read -r status seconds < <(curl -s -o /dev/null -w '%{http_code} %{time_total}\n' \
+            "http://localhost:$port/api/v1/content?page=0&size=10")
+        # A fast error is not a fast start: the first request must actually succeed.
+        if [ "${status:0:1}" != "2" ]; then
+            echo "ERROR: $service first request returned HTTP $status"
+            exit 1
+        fi
+        first=$(awk -v s="$seconds" 'BEGIN { printf "%d", s * 1000 }')
+
+        ready_times+=("$ready")
+        first_times+=("$first")
+        echo "   $service run $run: ready ${ready}ms, first request ${first}ms"
+    done
+
+    ready_median=$(printf '%s\n' "${ready_times[@]}" | median)
+    first_median=$(printf '%s\n' "${first_times[@]}" | median)
+    ready_key="$service.ready-ms"
+    first_key="$service.first-request-ms"
+
+    if [ "$RECORD" = true ]; then
+        set_budget "$ready_key" $(( ready_median * 12 / 10 ))
+        set_budget "$first_key" $(( first_median * 12 / 10 ))
+        set_budget "$service.recorded" true
+        echo "RECORDED: $service ready ${ready_median}ms, first request ${first_median}ms"
+        continue
+    fi
+
+    ready_budget=$(budget "$ready_key")
+    first_budget=$(budget "$first_key")
+    # Budgets that were never recorded on this runner are targets, not a measured baseline.
+    if [ "$(budget "$service.recorded")" = true ]; then
+        kind=baseline; verdict="regressed"
+    else
+        kind=target; verdict="missed its target (no recorded baseline yet)"
+    fi
+    echo "$service: ready ${ready_median}ms ($kind ${ready_budget:-none}), first request ${first_median}ms ($kind ${first_budget:-none})"
+
+    # A missing budget is a failure too, so a typo in the properties file cannot turn the check off.
+    if [ -z "$ready_budget" ] || [ -z "$first_budget" ]; then
+        echo "FAIL: no budget for $service in $BUDGET_FILE"
+        FAILED=1
+        continue
+    fi
+    if [ "$ready_median" -gt "$ready_budget" ]; then
+        echo "FAIL: $service time to ready $verdict"
+        FAILED=1
+    fi
+    if [ "$first_median" -gt "$first_budget" ]; then
+        echo "FAIL: $service first request latency $verdict"
+        FAILED=1
+    fi
+done
+
+if [ "$FAILED" -ne 0 ]; then
+    echo "Startup budget exceeded"
+fi
+exit $FAILED